@@ -0,0 +1,38 @@
+package com.nike.moirai.benchmarks;
+
+/**
+ * Generates Moirai config documents for benchmarks.
+ */
+final class BenchmarkConfigs {
+    /**
+     * @param featureCount the number of features
+     * @param enabledUserCount the number of enabled users for each feature
+     * @return a HOCON document with features named "feature0" to "feature[featureCount - 1]", each with enabled users "user0" to
+     * "user[enabledUserCount - 1]", a proportion of 0.5, and featureEnabled set for even-numbered features
+     */
+    static String moiraiConfig(int featureCount, int enabledUserCount) {
+        StringBuilder builder = new StringBuilder("moirai {\n");
+
+        for (int feature = 0; feature < featureCount; feature++) {
+            builder.append("  feature").append(feature).append(" {\n");
+            builder.append("    enabledProportion = 0.5\n");
+            builder.append("    featureEnabled = ").append(feature % 2 == 0).append('\n');
+            builder.append("    enabledUserIds = [");
+
+            for (int user = 0; user < enabledUserCount; user++) {
+                if (user > 0) {
+                    builder.append(", ");
+                }
+                builder.append("\"user").append(user).append('"');
+            }
+
+            builder.append("]\n  }\n");
+        }
+
+        return builder.append("}\n").toString();
+    }
+
+    private BenchmarkConfigs() {
+        // Prevent instantiation
+    }
+}
@@ -0,0 +1,73 @@
+package com.nike.moirai.benchmarks;
+
+import com.nike.moirai.FeatureCheckInput;
+import com.nike.moirai.config.ConfigDecider;
+import com.nike.moirai.config.ConfigDecisionInput;
+import com.nike.moirai.typesafeconfig.TypesafeConfigDecider;
+import com.nike.moirai.typesafeconfig.TypesafeConfigFeatureIndex;
+import com.nike.moirai.typesafeconfig.TypesafeConfigFeatureIndexDecider;
+import com.nike.moirai.typesafeconfig.TypesafeConfigReader;
+import com.typesafe.config.Config;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the enabled-user deciders against allowlists of increasing size, for a user that is not in the allowlist so that a
+ * linear scan has to look at every entry.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnabledUsersBenchmark {
+    @Param({"10", "1000", "50000"})
+    public int enabledUserCount;
+
+    private Config config;
+    private TypesafeConfigFeatureIndex index;
+
+    private final FeatureCheckInput otherUser = FeatureCheckInput.forUser("someone-else");
+
+    private final ConfigDecider<Config> enabledUsers = ConfigDecider.from(TypesafeConfigDecider.ENABLED_USERS);
+    private final ConfigDecider<Config> cachedEnabledUsers = ConfigDecider.from(TypesafeConfigDecider.CACHED_ENABLED_USERS);
+    private final ConfigDecider<TypesafeConfigFeatureIndex> indexEnabledUsers = ConfigDecider.from(TypesafeConfigFeatureIndexDecider.ENABLED_USERS);
+
+    @Setup
+    public void setup() {
+        config = TypesafeConfigReader.FROM_STRING.apply(BenchmarkConfigs.moiraiConfig(1, enabledUserCount));
+        index = TypesafeConfigFeatureIndex.FROM_CONFIG.apply(config);
+    }
+
+    @Benchmark
+    public boolean enabledUsers() {
+        return enabledUsers.decide(config, "feature0", otherUser);
+    }
+
+    @Benchmark
+    public boolean enabledUsersWithDecisionInput() {
+        return TypesafeConfigDecider.ENABLED_USERS.test(new ConfigDecisionInput<>(config, "feature0", otherUser));
+    }
+
+    @Benchmark
+    public boolean cachedEnabledUsers() {
+        return cachedEnabledUsers.decide(config, "feature0", otherUser);
+    }
+
+    @Benchmark
+    public boolean indexEnabledUsers() {
+        return indexEnabledUsers.decide(index, "feature0", otherUser);
+    }
+}
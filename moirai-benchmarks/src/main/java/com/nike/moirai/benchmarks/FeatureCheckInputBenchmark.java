@@ -0,0 +1,90 @@
+package com.nike.moirai.benchmarks;
+
+import com.nike.moirai.Dimension;
+import com.nike.moirai.FeatureCheckInput;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures building {@link FeatureCheckInput} instances and reading dimensions from them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FeatureCheckInputBenchmark {
+    private static final Dimension COUNTRY = Dimension.named("country");
+    private static final Dimension DEVICE = Dimension.named("device");
+
+    private final Instant now = Instant.now();
+    private final FeatureCheckInput userInput = FeatureCheckInput.forUserAtTime("8675309", now);
+    private final FeatureCheckInput dimensionsInput = userInput
+        .withAdditionalDimension("country", "Peru")
+        .withAdditionalDimension("device", "phone");
+
+    @Benchmark
+    public FeatureCheckInput empty() {
+        return FeatureCheckInput.empty();
+    }
+
+    @Benchmark
+    public FeatureCheckInput forUser() {
+        return FeatureCheckInput.forUser("8675309");
+    }
+
+    @Benchmark
+    public FeatureCheckInput builderWithDimensions() {
+        return new FeatureCheckInput.Builder()
+            .userId("8675309")
+            .dateTime(now)
+            .dimension("country", "Peru")
+            .dimension("device", "phone")
+            .build();
+    }
+
+    @Benchmark
+    public FeatureCheckInput builderWithDimensionHandles() {
+        return new FeatureCheckInput.Builder()
+            .userId("8675309")
+            .dateTime(now)
+            .dimension(COUNTRY, "Peru")
+            .dimension(DEVICE, "phone")
+            .build();
+    }
+
+    @Benchmark
+    public FeatureCheckInput layeredDimensions() {
+        return userInput
+            .withAdditionalDimension("country", "Peru")
+            .withAdditionalDimension("device", "phone")
+            .withAdditionalDimension("channel", "app");
+    }
+
+    @Benchmark
+    public Optional<String> getUserId() {
+        return dimensionsInput.getUserId();
+    }
+
+    @Benchmark
+    public Optional<?> getDimension() {
+        return dimensionsInput.getDimension("device");
+    }
+
+    @Benchmark
+    public Optional<?> getDimensionByHandle() {
+        return dimensionsInput.getDimension(DEVICE);
+    }
+}
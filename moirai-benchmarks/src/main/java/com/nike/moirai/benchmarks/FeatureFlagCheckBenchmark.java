@@ -0,0 +1,122 @@
+package com.nike.moirai.benchmarks;
+
+import com.nike.moirai.ConfigFeatureFlagChecker;
+import com.nike.moirai.FeatureCheckInput;
+import com.nike.moirai.FeatureFlagChecker;
+import com.nike.moirai.resource.reload.ResourceReloadSettings;
+import com.nike.moirai.resource.reload.ResourceReloader;
+import com.nike.moirai.typesafeconfig.TypesafeConfigDecider;
+import com.nike.moirai.typesafeconfig.TypesafeConfigFeatureIndex;
+import com.nike.moirai.typesafeconfig.TypesafeConfigFeatureIndexDecider;
+import com.nike.moirai.typesafeconfig.TypesafeConfigReader;
+import com.typesafe.config.Config;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures checking a feature with {@link ConfigFeatureFlagChecker}, both from a single thread and from several threads sharing the
+ * same checker, for deciders reading the Typesafe config tree and for deciders reading a {@link TypesafeConfigFeatureIndex}.
+ * <p>
+ * Run with "-prof gc" to verify that the checks do not allocate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FeatureFlagCheckBenchmark {
+    private FeatureFlagChecker configChecker;
+    private FeatureFlagChecker indexChecker;
+    private ResourceReloader<TypesafeConfigFeatureIndex> indexReloader;
+
+    private final FeatureCheckInput enabledUser = FeatureCheckInput.forUser("user5");
+    private final FeatureCheckInput otherUser = FeatureCheckInput.forUser("someone-else");
+
+    @Setup
+    public void setup() {
+        String configString = BenchmarkConfigs.moiraiConfig(100, 10);
+        Config config = TypesafeConfigReader.FROM_STRING.apply(configString);
+
+        configChecker = ConfigFeatureFlagChecker.forConfigSupplier(
+            () -> config,
+            TypesafeConfigDecider.ENABLED_USERS.or(TypesafeConfigDecider.PROPORTION_OF_USERS).or(TypesafeConfigDecider.FEATURE_ENABLED)
+        );
+
+        TypesafeConfigFeatureIndex index = TypesafeConfigFeatureIndex.FROM_CONFIG.apply(config);
+
+        indexReloader = ResourceReloader.withCustomSettingsAndManualLifecycle(
+            () -> CompletableFuture.completedFuture(index),
+            index,
+            new ResourceReloadSettings(Duration.ofMinutes(1), Duration.ofSeconds(30))
+        );
+
+        indexChecker = ConfigFeatureFlagChecker.forReloadableResource(
+            indexReloader,
+            TypesafeConfigFeatureIndexDecider.ENABLED_USERS
+                .or(TypesafeConfigFeatureIndexDecider.PROPORTION_OF_USERS)
+                .or(TypesafeConfigFeatureIndexDecider.FEATURE_ENABLED)
+        );
+    }
+
+    @TearDown
+    public void tearDown() {
+        indexReloader.shutdown();
+    }
+
+    @Benchmark
+    public boolean configEnabledUser() {
+        return configChecker.isFeatureEnabled("feature42", enabledUser);
+    }
+
+    @Benchmark
+    public boolean configOtherUser() {
+        return configChecker.isFeatureEnabled("feature42", otherUser);
+    }
+
+    @Benchmark
+    public boolean configWithoutInput() {
+        return configChecker.isFeatureEnabled("feature42");
+    }
+
+    @Benchmark
+    public boolean indexEnabledUser() {
+        return indexChecker.isFeatureEnabled("feature42", enabledUser);
+    }
+
+    @Benchmark
+    public boolean indexOtherUser() {
+        return indexChecker.isFeatureEnabled("feature42", otherUser);
+    }
+
+    @Benchmark
+    public boolean indexWithoutInput() {
+        return indexChecker.isFeatureEnabled("feature42");
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean contendedConfigOtherUser() {
+        return configChecker.isFeatureEnabled("feature42", otherUser);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean contendedIndexOtherUser() {
+        return indexChecker.isFeatureEnabled("feature42", otherUser);
+    }
+}
@@ -0,0 +1,67 @@
+package com.nike.moirai.benchmarks;
+
+import com.nike.moirai.ConfigFeatureFlagChecker;
+import com.nike.moirai.FeatureCheckInput;
+import com.nike.moirai.FeatureFlagChecker;
+import com.nike.moirai.typesafeconfig.TypesafeConfigFeatureIndex;
+import com.nike.moirai.typesafeconfig.TypesafeConfigFeatureIndexDecider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Measures checking features while the config is being swapped, as a ResourceReloader does when a reload completes. The checks
+ * read the current value from an {@link AtomicReference}, the same as the value of a ResourceReloader.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReloadSwapBenchmark {
+    private final AtomicReference<TypesafeConfigFeatureIndex> current = new AtomicReference<>();
+    private final FeatureCheckInput user = FeatureCheckInput.forUser("user5");
+
+    private TypesafeConfigFeatureIndex first;
+    private TypesafeConfigFeatureIndex second;
+    private FeatureFlagChecker checker;
+
+    @Setup
+    public void setup() {
+        first = TypesafeConfigFeatureIndex.FROM_STRING.apply(BenchmarkConfigs.moiraiConfig(100, 10));
+        second = TypesafeConfigFeatureIndex.FROM_STRING.apply(BenchmarkConfigs.moiraiConfig(100, 20));
+        current.set(first);
+
+        checker = ConfigFeatureFlagChecker.forConfigSupplier(
+            current::get,
+            TypesafeConfigFeatureIndexDecider.ENABLED_USERS.or(TypesafeConfigFeatureIndexDecider.PROPORTION_OF_USERS)
+        );
+    }
+
+    @Benchmark
+    @Group("swap")
+    @GroupThreads(3)
+    public boolean check() {
+        return checker.isFeatureEnabled("feature42", user);
+    }
+
+    @Benchmark
+    @Group("swap")
+    @GroupThreads(1)
+    public TypesafeConfigFeatureIndex reload() {
+        return current.getAndSet(current.get() == first ? second : first);
+    }
+}
@@ -0,0 +1,60 @@
+package com.nike.moirai.benchmarks;
+
+import com.nike.moirai.typesafeconfig.TypesafeConfigFeatureIndex;
+import com.nike.moirai.typesafeconfig.TypesafeConfigReader;
+import com.typesafe.config.Config;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures parsing HOCON documents with {@link TypesafeConfigReader#FROM_STRING} and compiling them into a
+ * {@link TypesafeConfigFeatureIndex}, which happens once per reload of the config.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TypesafeConfigParsingBenchmark {
+    @Param({"10", "1000"})
+    public int featureCount;
+
+    @Param({"10", "1000"})
+    public int enabledUserCount;
+
+    private String configString;
+    private Config config;
+
+    @Setup
+    public void setup() {
+        configString = BenchmarkConfigs.moiraiConfig(featureCount, enabledUserCount);
+        config = TypesafeConfigReader.FROM_STRING.apply(configString);
+    }
+
+    @Benchmark
+    public Config parse() {
+        return TypesafeConfigReader.FROM_STRING.apply(configString);
+    }
+
+    @Benchmark
+    public TypesafeConfigFeatureIndex buildIndex() {
+        return TypesafeConfigFeatureIndex.FROM_CONFIG.apply(config);
+    }
+
+    @Benchmark
+    public TypesafeConfigFeatureIndex parseAndBuildIndex() {
+        return TypesafeConfigFeatureIndex.FROM_STRING.apply(configString);
+    }
+}
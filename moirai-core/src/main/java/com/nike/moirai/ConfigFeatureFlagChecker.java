@@ -1,19 +1,27 @@
 package com.nike.moirai;
 
+import com.nike.moirai.config.ConfigDecider;
 import com.nike.moirai.config.ConfigDecisionInput;
 import com.nike.moirai.resource.reload.ResourceReloader;
 
+import java.time.Instant;
+import java.util.BitSet;
+import java.util.List;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
  * Checks if a feature is enabled using a given supplier of configuration and a predicate for config decisions for that configuration type.
+ * <p>
+ * If the predicate is a {@link ConfigDecider}, such as the deciders in {@link com.nike.moirai.config} and their combinations, features are
+ * checked without allocating a {@link ConfigDecisionInput} for each check.
  *
  * @param <C> the type of config
  */
 public class ConfigFeatureFlagChecker<C> implements FeatureFlagChecker {
     private final Supplier<C> configSupplier;
-    private final Predicate<ConfigDecisionInput<C>> configDecider;
+    private final ConfigDecider<C> configDecider;
 
     /**
      * Given a resource reloader, gets the current config value and calls the configDecider using that config value.
@@ -39,22 +47,90 @@ public class ConfigFeatureFlagChecker<C> implements FeatureFlagChecker {
         return new ConfigFeatureFlagChecker<>(configSupplier, configDecider);
     }
 
+    /**
+     * Calls the configDecider using the given config value for each decision.
+     *
+     * @param config the config
+     * @param configDecider a predicate for input using the config
+     * @param <C> the type of config
+     * @return a checker for the config and the provided predicate
+     */
+    public static <C> ConfigFeatureFlagChecker<C> forConfig(C config, Predicate<ConfigDecisionInput<C>> configDecider) {
+        return new ConfigFeatureFlagChecker<>(() -> config, configDecider);
+    }
+
     private ConfigFeatureFlagChecker(
         Supplier<C> configSupplier,
         Predicate<ConfigDecisionInput<C>> configDecider) {
 
         this.configSupplier = configSupplier;
-        this.configDecider = configDecider;
+        this.configDecider = ConfigDecider.from(configDecider);
+    }
+
+    /**
+     * Gets the config from the supplier once, and provides a checker that makes all of its decisions using that config. Use this to
+     * share one config between the checks made for a request, so that a config supplier that parses its config is only called
+     * once for the request, and so that the checks are consistent even if a {@link ResourceReloader} reloads the config in the
+     * meantime.
+     *
+     * @return a checker for the current config and the same predicate
+     */
+    @Override
+    public ConfigFeatureFlagChecker<C> snapshot() {
+        return forConfig(this.configSupplier.get(), this.configDecider);
     }
 
     @Override
     public boolean isFeatureEnabled(String featureIdentifier, FeatureCheckInput featureCheckInput) {
-        return this.configDecider.test(new ConfigDecisionInput<>(this.configSupplier.get(), featureIdentifier, featureCheckInput));
+        return this.configDecider.decide(this.configSupplier.get(), featureIdentifier, featureCheckInput);
     }
 
     @Override
     public boolean isFeatureEnabled(String featureIdentifier) {
-        return this.configDecider.test(new ConfigDecisionInput<>(this.configSupplier.get(), featureIdentifier, FeatureCheckInput.empty()));
+        return this.configDecider.decide(this.configSupplier.get(), featureIdentifier, FeatureCheckInput.empty());
     }
 
+    /**
+     * Checks which of the features should be enabled given the provided input. Gets the config from the supplier once and makes all of
+     * the decisions using that config.
+     *
+     * @param featureIdentifiers the identifiers of the features to check on
+     * @param featureCheckInput the input dimensions to base the decisions on
+     * @return a BitSet where bit {@code i} is set if the feature at index {@code i} of featureIdentifiers should be enabled
+     */
+    @Override
+    public BitSet enabledFeatures(List<String> featureIdentifiers, FeatureCheckInput featureCheckInput) {
+        C config = this.configSupplier.get();
+        BitSet enabledFeatures = new BitSet(featureIdentifiers.size());
+        int index = 0;
+
+        for (String featureIdentifier : featureIdentifiers) {
+            if (this.configDecider.decide(config, featureIdentifier, featureCheckInput)) {
+                enabledFeatures.set(index);
+            }
+            index++;
+        }
+
+        return enabledFeatures;
+    }
+
+    @Override
+    public BitSet enabledFeatures(List<String> featureIdentifiers) {
+        return enabledFeatures(featureIdentifiers, FeatureCheckInput.empty());
+    }
+
+    /**
+     * Filters the users for which the feature should be enabled. Gets the config from the supplier once, and resolves the decision
+     * for the feature against it with {@link ConfigDecider#forFeature(Object, String)} before checking the users.
+     *
+     * @param featureIdentifier the identifier of the feature to check on
+     * @param userIds the ids of the users to check
+     * @return the ids of the users for which the feature should be enabled
+     */
+    @Override
+    public Stream<String> enabledUsers(String featureIdentifier, Stream<String> userIds) {
+        Predicate<FeatureCheckInput> featureDecider = this.configDecider.forFeature(this.configSupplier.get(), featureIdentifier);
+        Instant dateTime = Instant.now();
+        return userIds.filter(userId -> featureDecider.test(FeatureCheckInput.forUserAtTime(userId, dateTime)));
+    }
 }
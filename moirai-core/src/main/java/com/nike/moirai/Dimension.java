@@ -0,0 +1,115 @@
+package com.nike.moirai;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A handle for the key of a custom dimension of a {@link FeatureCheckInput}.
+ * <p>
+ * Each key is registered once, and resolved to an integer slot that inputs keep the value of the dimension at, so building an input
+ * with a {@code Dimension} and reading the dimension from it are array indexing. Get the handle once, for instance in a static field,
+ * and use it with {@link FeatureCheckInput.Builder#dimension(Dimension, Object)} and {@link FeatureCheckInput#getDimension(Dimension)}.
+ * Inputs built with the string key of a registered dimension resolve it to the same handle, so both can be used for the same dimension.
+ * <p>
+ * Only {@link #named(String)} registers keys, which are kept for the life of the JVM, so it should be used for a fixed set of keys
+ * rather than keys built from request data. Inputs keep the dimensions with other string keys by their key instead.
+ */
+public final class Dimension {
+    private static final ConcurrentMap<String, Dimension> DIMENSIONS = new ConcurrentHashMap<>();
+
+    // The registered custom dimensions, indexed by slot, with room for more; grown by doubling so that registering is not quadratic
+    private static volatile Dimension[] bySlot = new Dimension[8];
+    private static int slots = 0;
+
+    private final String key;
+    private final int slot;
+
+    private Dimension(String key, int slot) {
+        this.key = key;
+        this.slot = slot;
+    }
+
+    /**
+     * Gets the handle for a dimension key, registering the key the first time.
+     *
+     * @param key the key of the dimension
+     * @return the handle for the key, the same instance for every call with an equal key
+     */
+    public static Dimension named(String key) {
+        Dimension dimension = DIMENSIONS.get(Objects.requireNonNull(key));
+        return dimension != null ? dimension : register(key);
+    }
+
+    private static synchronized Dimension register(String key) {
+        Dimension dimension = DIMENSIONS.get(key);
+
+        if (dimension == null) {
+            if (isBuiltIn(key)) {
+                dimension = new Dimension(key, -1);
+            } else {
+                Dimension[] dimensions = slots < bySlot.length ? bySlot : Arrays.copyOf(bySlot, bySlot.length * 2);
+                dimension = new Dimension(key, slots++);
+                dimensions[dimension.slot] = dimension;
+
+                // Written even when the array is not copied, so that reading it sees the new dimension
+                bySlot = dimensions;
+            }
+
+            DIMENSIONS.put(key, dimension);
+        }
+
+        return dimension;
+    }
+
+    static boolean isBuiltIn(String key) {
+        for (FeatureCheckInput.DimensionKey dimensionKey : FeatureCheckInput.DimensionKey.values()) {
+            if (dimensionKey.name().equals(key)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * @return the handle for the key if it has been registered, otherwise null
+     */
+    static Dimension find(String key) {
+        return key == null ? null : DIMENSIONS.get(key);
+    }
+
+    /**
+     * @return the custom dimension registered at the slot
+     */
+    static Dimension forSlot(int slot) {
+        return bySlot[slot];
+    }
+
+    /**
+     * @return the key of the dimension
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * @return true if the key is one of the {@link FeatureCheckInput.DimensionKey built-in keys}, which are not kept at a slot
+     */
+    boolean isBuiltIn() {
+        return slot < 0;
+    }
+
+    /**
+     * @return the slot of a custom dimension
+     */
+    int slot() {
+        return slot;
+    }
+
+    @Override
+    public String toString() {
+        return key;
+    }
+}
@@ -0,0 +1,382 @@
+package com.nike.moirai;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The custom dimensions of a {@link FeatureCheckInput}, kept in an array indexed by the {@link Dimension#slot() slot} of each
+ * dimension. The array only extends to the highest slot that has a value, and a dimension without a value is null.
+ * <p>
+ * Dimensions added with a string key that is not registered as a {@link Dimension} are kept by their key instead, in small parallel
+ * key and value arrays, so that keys built from request data are not registered for the life of the JVM. Such a key that is
+ * registered later is still found by its {@link Dimension}.
+ * <p>
+ * Adding a dimension to existing dimensions with {@link #with(Dimension, Object)} or {@link #with(String, Object)} shares their
+ * arrays, and only adds a layer with the new value on top of the layers already added. After {@value #MAX_LAYERS} layers, the layers
+ * are flattened into new arrays, so lookups never scan more than that many layers.
+ */
+final class Dimensions {
+    static final int MAX_LAYERS = 8;
+
+    private static final int[] NO_SLOTS = new int[0];
+    private static final Object[] NO_VALUES = new Object[0];
+
+    private static final String[] NO_KEYS = new String[0];
+
+    // The slot of a layer for a dimension kept by its key
+    private static final int KEYED_LAYER = -1;
+
+    static final Dimensions EMPTY = new Dimensions(NO_VALUES, NO_SLOTS, NO_KEYS, NO_VALUES, NO_KEYS, NO_VALUES);
+
+    private final Object[] values;
+
+    // Dimensions added on top of the values, oldest first; a later layer for the same slot or key replaces an earlier one. The
+    // layer keys are empty until a dimension kept by its key is layered, and then have the key of each layer at the KEYED_LAYER slot
+    private final int[] layerSlots;
+    private final String[] layerKeys;
+    private final Object[] layerValues;
+
+    // Dimensions whose key was not registered when they were added, which are never also kept at a slot
+    private final String[] keys;
+    private final Object[] keyValues;
+
+    private Dimensions(Object[] values, int[] layerSlots, String[] layerKeys, Object[] layerValues, String[] keys, Object[] keyValues) {
+        this.values = values;
+        this.layerSlots = layerSlots;
+        this.layerKeys = layerKeys;
+        this.layerValues = layerValues;
+        this.keys = keys;
+        this.keyValues = keyValues;
+    }
+
+    /**
+     * Builds {@link Dimensions}, keeping the last value for a dimension that is added more than once.
+     */
+    static final class Builder {
+        private Object[] values;
+        private String[] keys;
+        private Object[] keyValues;
+
+        Builder(Dimensions dimensions) {
+            this.values = dimensions.flatten();
+            this.keys = dimensions.keys;
+            this.keyValues = dimensions.keyValues;
+
+            for (int i = 0; i < dimensions.layerKeys.length; i++) {
+                if (dimensions.layerSlots[i] == KEYED_LAYER) {
+                    put(dimensions.layerKeys[i], dimensions.layerValues[i]);
+                }
+            }
+
+            // Keys registered since they were added move to their slots, so that equal dimensions are built the same way. Putting
+            // replaces the key arrays rather than changing them, so these stay as they were
+            String[] keys = this.keys;
+            Object[] keyValues = this.keyValues;
+
+            for (int i = 0; i < keys.length; i++) {
+                Dimension dimension = Dimension.find(keys[i]);
+
+                if (dimension != null) {
+                    put(dimension, keyValues[i]);
+                }
+            }
+        }
+
+        void put(Dimension dimension, Object value) {
+            int slot = dimension.slot();
+
+            if (indexOf(this.keys, dimension.getKey()) >= 0) {
+                put(dimension.getKey(), null);
+            }
+
+            if (slot >= this.values.length) {
+                if (value == null) {
+                    return;
+                }
+
+                this.values = Arrays.copyOf(this.values, slot + 1);
+            }
+
+            this.values[slot] = value;
+        }
+
+        /**
+         * Puts a dimension by its key, which should not be registered as a {@link Dimension}.
+         */
+        void put(String key, Object value) {
+            int index = indexOf(this.keys, key);
+
+            if (index < 0 && value == null) {
+                return;
+            }
+
+            String[] keys = index < 0 ? Arrays.copyOf(this.keys, this.keys.length + 1) : this.keys.clone();
+            Object[] keyValues = index < 0 ? Arrays.copyOf(this.keyValues, this.keyValues.length + 1) : this.keyValues.clone();
+
+            if (index < 0) {
+                index = keys.length - 1;
+                keys[index] = key;
+            }
+
+            keyValues[index] = value;
+
+            if (value == null) {
+                // Moves the last dimension into the place of the removed one
+                int last = keys.length - 1;
+                keys[index] = keys[last];
+                keyValues[index] = keyValues[last];
+                keys = Arrays.copyOf(keys, last);
+                keyValues = Arrays.copyOf(keyValues, last);
+            }
+
+            this.keys = keys;
+            this.keyValues = keyValues;
+        }
+
+        Dimensions build() {
+            return flat(this.values, this.keys, this.keyValues);
+        }
+    }
+
+    /**
+     * @param dimension a custom dimension
+     * @param value the value for the dimension, or null to remove it
+     * @return these dimensions with the value for the dimension, sharing the existing values instead of copying them
+     */
+    Dimensions with(Dimension dimension, Object value) {
+        if (this.layerSlots.length == MAX_LAYERS || hasKey(dimension.getKey())) {
+            Builder builder = new Builder(this);
+            builder.put(dimension, value);
+
+            return builder.build();
+        }
+
+        return withLayer(dimension.slot(), null, value);
+    }
+
+    /**
+     * @param key the key of a custom dimension that is not registered as a {@link Dimension}
+     * @param value the value for the dimension, or null to remove it
+     * @return these dimensions with the value for the dimension, sharing the existing values instead of copying them unless the
+     * dimension is removed
+     */
+    Dimensions with(String key, Object value) {
+        if (this.layerSlots.length == MAX_LAYERS || value == null) {
+            Builder builder = new Builder(this);
+            builder.put(key, value);
+
+            return builder.build();
+        }
+
+        return withLayer(KEYED_LAYER, key, value);
+    }
+
+    private Dimensions withLayer(int slot, String key, Object value) {
+        int layers = this.layerSlots.length;
+
+        int[] slots = Arrays.copyOf(this.layerSlots, layers + 1);
+        Object[] values = Arrays.copyOf(this.layerValues, layers + 1);
+        slots[layers] = slot;
+        values[layers] = value;
+
+        String[] keys = this.layerKeys;
+        if (key != null || keys.length > 0) {
+            keys = Arrays.copyOf(keys, layers + 1);
+            keys[layers] = key;
+        }
+
+        return new Dimensions(this.values, slots, keys, values, this.keys, this.keyValues);
+    }
+
+    /**
+     * @return true if a dimension with the key is kept by its key
+     */
+    private boolean hasKey(String key) {
+        return indexOf(this.keys, key) >= 0 || indexOf(this.layerKeys, key) >= 0;
+    }
+
+    /**
+     * @param dimension a custom dimension
+     * @return the value of the dimension, or null if there is none
+     */
+    Object get(Dimension dimension) {
+        int slot = dimension.slot();
+
+        for (int i = this.layerSlots.length - 1; i >= 0; i--) {
+            if (this.layerSlots[i] == slot) {
+                return this.layerValues[i];
+            }
+        }
+
+        if (slot < this.values.length && this.values[slot] != null) {
+            return this.values[slot];
+        }
+
+        // The dimension may have been added by its key before the key was registered
+        return this.keys.length == 0 && this.layerKeys.length == 0 ? null : get(dimension.getKey());
+    }
+
+    /**
+     * @param key the key of a custom dimension that was added by its key
+     * @return the value of the dimension, or null if there is none
+     */
+    Object get(String key) {
+        for (int i = this.layerKeys.length - 1; i >= 0; i--) {
+            if (key.equals(this.layerKeys[i])) {
+                return this.layerValues[i];
+            }
+        }
+
+        int index = indexOf(this.keys, key);
+        return index < 0 ? null : this.keyValues[index];
+    }
+
+    private static int indexOf(String[] keys, String key) {
+        for (int i = 0; i < keys.length; i++) {
+            if (key.equals(keys[i])) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * @return a new array of the values with the layers for slots applied, extending to the highest slot that has a value
+     */
+    private Object[] flatten() {
+        int length = this.values.length;
+
+        for (int slot : this.layerSlots) {
+            length = Math.max(length, slot + 1);
+        }
+
+        Object[] flattened = Arrays.copyOf(this.values, length);
+
+        for (int i = 0; i < this.layerSlots.length; i++) {
+            if (this.layerSlots[i] != KEYED_LAYER) {
+                flattened[this.layerSlots[i]] = this.layerValues[i];
+            }
+        }
+
+        return flattened;
+    }
+
+    private static Dimensions flat(Object[] values, String[] keys, Object[] keyValues) {
+        int length = values.length;
+
+        while (length > 0 && values[length - 1] == null) {
+            length--;
+        }
+
+        return length == 0 && keys.length == 0 ?
+            EMPTY :
+            new Dimensions(Arrays.copyOf(values, length), NO_SLOTS, NO_KEYS, NO_VALUES, keys, keyValues);
+    }
+
+    /**
+     * @return the values with the layers for slots applied, trimmed so that equal dimensions have equal arrays
+     */
+    private Object[] effectiveValues() {
+        return this.layerSlots.length == 0 ? this.values : flat(flatten(), NO_KEYS, NO_VALUES).values;
+    }
+
+    /**
+     * @return these dimensions without layers for dimensions kept by their key, and with the keys registered since they were added
+     * moved to their slots
+     */
+    private Dimensions resolved() {
+        return this.keys.length == 0 && this.layerKeys.length == 0 ? this : new Builder(this).build();
+    }
+
+    /**
+     * @return the dimensions as an unmodifiable map, in the order of their slots followed by the dimensions kept by their key
+     */
+    Map<String, Object> toMap() {
+        Object[] effectiveValues = effectiveValues();
+        Map<String, Object> map = new LinkedHashMap<>();
+
+        for (int slot = 0; slot < effectiveValues.length; slot++) {
+            if (effectiveValues[slot] != null) {
+                map.put(Dimension.forSlot(slot).getKey(), effectiveValues[slot]);
+            }
+        }
+
+        for (int i = 0; i < this.keys.length; i++) {
+            map.put(this.keys[i], this.keyValues[i]);
+        }
+
+        for (int i = 0; i < this.layerKeys.length; i++) {
+            if (this.layerSlots[i] == KEYED_LAYER) {
+                map.put(this.layerKeys[i], this.layerValues[i]);
+            }
+        }
+
+        return Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * Dimensions are equal when they have equal values for the same dimensions, however they were layered, and whether they were
+     * kept at a slot or by their key.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || getClass() != o.getClass())
+            return false;
+        Dimensions that = (Dimensions) o;
+
+        if (this.keys.length == 0 && this.layerKeys.length == 0 && that.keys.length == 0 && that.layerKeys.length == 0) {
+            return Arrays.equals(effectiveValues(), that.effectiveValues());
+        }
+
+        Dimensions resolved = resolved();
+        Dimensions thatResolved = that.resolved();
+
+        if (!Arrays.equals(resolved.effectiveValues(), thatResolved.effectiveValues()) || resolved.keys.length != thatResolved.keys.length) {
+            return false;
+        }
+
+        for (int i = 0; i < resolved.keys.length; i++) {
+            if (!resolved.keyValues[i].equals(thatResolved.get(resolved.keys[i]))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Sums the hashes of the entries like {@link Map#hashCode()}, so it does not depend on the layers, or change when a dimension
+     * kept by its key is registered and moves to a slot.
+     */
+    @Override
+    public int hashCode() {
+        if (this.layerKeys.length > 0) {
+            return new Builder(this).build().hashCode();
+        }
+
+        Object[] effectiveValues = effectiveValues();
+        int hashCode = 0;
+
+        for (int slot = 0; slot < effectiveValues.length; slot++) {
+            if (effectiveValues[slot] != null) {
+                hashCode += Dimension.forSlot(slot).getKey().hashCode() ^ effectiveValues[slot].hashCode();
+            }
+        }
+
+        for (int i = 0; i < this.keys.length; i++) {
+            hashCode += this.keys[i].hashCode() ^ this.keyValues[i].hashCode();
+        }
+
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return toMap().toString();
+    }
+}
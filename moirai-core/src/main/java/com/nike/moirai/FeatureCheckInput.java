@@ -1,33 +1,54 @@
 package com.nike.moirai;
 
 import java.time.Instant;
-import java.util.Arrays;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.OptionalInt;
+import java.util.function.ToIntFunction;
 
 /**
  * The input for checking if a feature is enabled.
+ * <p>
+ * The built-in dimensions are kept in fields of their own, and custom dimensions in an array indexed by the slot of their
+ * {@link Dimension}, so an input is small and reading its dimensions does not hash the dimension key. Custom dimensions added with a
+ * string key that is not registered as a {@link Dimension} are kept by their key, without registering it.
  */
 public class FeatureCheckInput {
     /** Built-in and reserved keys for input dimensions. */
     public enum DimensionKey {
-        USER_ID, DATE_TIME;
+        USER_ID, DATE_TIME
+    }
+
+    private static final class UserIdHash {
+        private final ToIntFunction<String> hashFunction;
+        private final OptionalInt hash;
 
-        private static Set<String> KEYS = Arrays.stream(DimensionKey.values()).map(DimensionKey::name).collect(Collectors.toSet());
+        private UserIdHash(ToIntFunction<String> hashFunction, OptionalInt hash) {
+            this.hashFunction = hashFunction;
+            this.hash = hash;
+        }
     }
 
-    private final Map<String, ?> dimensions;
+    private static final FeatureCheckInput EMPTY = new FeatureCheckInput(Optional.empty(), Optional.empty(), Dimensions.EMPTY);
+
+    // Kept as Optionals, so that reading the built-in dimensions does not allocate
+    @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+    private final Optional<String> userId;
+    @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+    private final Optional<Instant> dateTime;
+    private final Dimensions dimensions;
+
+    // The last hash of the userId, kept for the checks of several features with this input
+    private volatile UserIdHash userIdHash;
 
     /**
      * Builds a {@link FeatureCheckInput}.
      */
     @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
     public static class Builder {
-        private final Map<String, Object> dimensions;
+        private final Dimensions.Builder dimensions;
         private Optional<String> userId = Optional.empty();
         private Optional<Instant> dateTime = Optional.empty();
 
@@ -35,14 +56,16 @@ public class FeatureCheckInput {
          * Empty builder
          */
         public Builder() {
-            this.dimensions = new HashMap<>();
+            this.dimensions = new Dimensions.Builder(Dimensions.EMPTY);
         }
 
         /**
          * @param featureCheckInput existing input to copy from
          */
         public Builder(FeatureCheckInput featureCheckInput) {
-            this.dimensions = new HashMap<>(featureCheckInput.dimensions);
+            this.dimensions = new Dimensions.Builder(featureCheckInput.dimensions);
+            this.userId = featureCheckInput.userId;
+            this.dateTime = featureCheckInput.dateTime;
         }
 
         /**
@@ -71,20 +94,45 @@ public class FeatureCheckInput {
         /**
          * Input a custom dimension using a key that a provided ConfigDecider knows about
          * and the appropriate data type for that value that the ConfigDecider expects.
+         * <p>
+         * A key registered with {@link Dimension#named(String)} is kept at its slot, and any other key is kept by the key.
          *
          * @param dimensionKey   custom key identifying the input dimension
          * @param dimensionValue custom value for the input dimension
          * @return this
          */
         public Builder dimension(String dimensionKey, Object dimensionValue) {
-            if (DimensionKey.KEYS.contains(dimensionKey)) {
-                throw new IllegalArgumentException(String.format("Dimension key '%s' conflicts with built-in dimension key", dimensionKey));
+            Dimension dimension = Dimension.find(Objects.requireNonNull(dimensionKey));
+
+            if (dimension != null) {
+                return this.dimension(dimension, dimensionValue);
+            }
+
+            if (Dimension.isBuiltIn(dimensionKey)) {
+                throw conflictsWithBuiltIn(dimensionKey);
             }
 
             this.dimensions.put(dimensionKey, dimensionValue);
             return this;
         }
 
+        /**
+         * Input a custom dimension using a registered {@link Dimension}, which is faster than using its key. A null value removes
+         * the dimension.
+         *
+         * @param dimension      custom dimension identifying the input dimension
+         * @param dimensionValue custom value for the input dimension
+         * @return this
+         */
+        public Builder dimension(Dimension dimension, Object dimensionValue) {
+            if (dimension.isBuiltIn()) {
+                throw conflictsWithBuiltIn(dimension.getKey());
+            }
+
+            this.dimensions.put(dimension, dimensionValue);
+            return this;
+        }
+
         /**
          * Input several custom dimensions
          *
@@ -103,10 +151,7 @@ public class FeatureCheckInput {
          * @return a new FeatureCheckInput
          */
         public FeatureCheckInput build() {
-            this.userId.ifPresent(v -> this.dimensions.put(DimensionKey.USER_ID.name(), v));
-            this.dateTime.ifPresent(v -> this.dimensions.put(DimensionKey.DATE_TIME.name(), v));
-
-            return new FeatureCheckInput(this.dimensions);
+            return new FeatureCheckInput(this.userId, this.dateTime, this.dimensions.build());
         }
     }
 
@@ -118,16 +163,16 @@ public class FeatureCheckInput {
      * @return a new FeatureCheckInput
      */
     public static FeatureCheckInput forUser(String userId) {
-        return new Builder().userId(userId).dateTime(Instant.now()).build();
+        return forUserAtTime(userId, Instant.now());
     }
 
     /**
      * Create an empty input for a feature check of the given feature.
      *
-     * @return a new FeatureCheckInput
+     * @return an empty FeatureCheckInput, which is shared as inputs are immutable
      */
     public static FeatureCheckInput empty() {
-        return new Builder().build();
+        return EMPTY;
     }
 
     /**
@@ -139,10 +184,13 @@ public class FeatureCheckInput {
      * @return a new FeatureCheckInput
      */
     public static FeatureCheckInput forUserAtTime(String userId, Instant dateTime) {
-        return new Builder().userId(userId).dateTime(dateTime).build();
+        return new FeatureCheckInput(Optional.ofNullable(userId), Optional.ofNullable(dateTime), Dimensions.EMPTY);
     }
 
-    FeatureCheckInput(Map<String, ?> dimensions) {
+    @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+    private FeatureCheckInput(Optional<String> userId, Optional<Instant> dateTime, Dimensions dimensions) {
+        this.userId = userId;
+        this.dateTime = dateTime;
         this.dimensions = dimensions;
     }
 
@@ -154,34 +202,117 @@ public class FeatureCheckInput {
     }
 
     /**
+     * Like {@link #withAdditionalDimension(String, Object)}, the new input shares the dimensions of this input and adds a few
+     * dimensions as layers on top of them. Adding more dimensions than are kept as layers copies them instead.
+     *
      * @param additionalDimensions additional dimensions to add to the input
      * @return input with additional dimensions added
      */
     public FeatureCheckInput withAdditionalDimensions(Map<String, ?> additionalDimensions) {
-        return this.builder().dimensions(additionalDimensions).build();
+        if (additionalDimensions.size() > Dimensions.MAX_LAYERS) {
+            return this.withDimensions(this.builder().dimensions(additionalDimensions).dimensions.build());
+        }
+
+        Dimensions dimensions = this.dimensions;
+
+        for (Map.Entry<String, ?> dimension : additionalDimensions.entrySet()) {
+            dimensions = with(dimensions, dimension.getKey(), dimension.getValue());
+        }
+
+        return this.withDimensions(dimensions);
     }
 
     /**
+     * The new input shares the dimensions of this input instead of copying them, so adding dimensions one at a time, for instance as
+     * a request is enriched, does not copy the dimensions for each one.
+     *
      * @param dimensionKey   custom key identifying the input dimension
      * @param dimensionValue custom value for the input dimension
      * @return input with the additional dimension added
      */
     public FeatureCheckInput withAdditionalDimension(String dimensionKey, Object dimensionValue) {
-        return this.builder().dimension(dimensionKey, dimensionValue).build();
+        return this.withDimensions(with(this.dimensions, dimensionKey, dimensionValue));
+    }
+
+    /**
+     * The new input shares the dimensions of this input instead of copying them.
+     *
+     * @param dimension      custom dimension identifying the input dimension
+     * @param dimensionValue custom value for the input dimension
+     * @return input with the additional dimension added
+     */
+    public FeatureCheckInput withAdditionalDimension(Dimension dimension, Object dimensionValue) {
+        return this.withDimensions(with(this.dimensions, dimension, dimensionValue));
+    }
+
+    private static Dimensions with(Dimensions dimensions, String dimensionKey, Object dimensionValue) {
+        Dimension dimension = Dimension.find(Objects.requireNonNull(dimensionKey));
+
+        if (dimension != null) {
+            return with(dimensions, dimension, dimensionValue);
+        }
+
+        if (Dimension.isBuiltIn(dimensionKey)) {
+            throw conflictsWithBuiltIn(dimensionKey);
+        }
+
+        return dimensions.with(dimensionKey, dimensionValue);
+    }
+
+    private static Dimensions with(Dimensions dimensions, Dimension dimension, Object dimensionValue) {
+        if (dimension.isBuiltIn()) {
+            throw conflictsWithBuiltIn(dimension.getKey());
+        }
+
+        return dimensions.with(dimension, dimensionValue);
+    }
+
+    private FeatureCheckInput withDimensions(Dimensions dimensions) {
+        FeatureCheckInput input = new FeatureCheckInput(this.userId, this.dateTime, dimensions);
+
+        // The userId is the same, so its hash is as well
+        input.userIdHash = this.userIdHash;
+
+        return input;
+    }
+
+    private static IllegalArgumentException conflictsWithBuiltIn(String dimensionKey) {
+        return new IllegalArgumentException(String.format("Dimension key '%s' conflicts with built-in dimension key", dimensionKey));
     }
 
     /**
      * @return the id of the user accessing the feature
      */
     public Optional<String> getUserId() {
-        return Optional.ofNullable((String) this.dimensions.get(DimensionKey.USER_ID.name()));
+        return this.userId;
     }
 
     /**
      * @return the time at which to check if the feature is enabled
      */
     public Optional<Instant> getDateTime() {
-        return Optional.ofNullable((Instant) this.dimensions.get(DimensionKey.DATE_TIME.name()));
+        return this.dateTime;
+    }
+
+    /**
+     * Hashes the userId with the given function, such as to assign the user to a bucket for a proportion of users. The hash is kept
+     * with this input, so when several features are checked with the same input, the userId is only hashed once. Only the hash from the
+     * most recently used function is kept, so the function should be a shared instance rather than a new lambda for each call.
+     *
+     * @param hashFunction the function to hash the userId with
+     * @return the hash of the userId, or empty if there is no userId
+     */
+    public OptionalInt getUserIdHash(ToIntFunction<String> hashFunction) {
+        UserIdHash cached = this.userIdHash;
+
+        if (cached != null && cached.hashFunction == hashFunction) {
+            return cached.hash;
+        }
+
+        OptionalInt hash = this.userId.isPresent() ? OptionalInt.of(hashFunction.applyAsInt(this.userId.get())) : OptionalInt.empty();
+        this.userIdHash = new UserIdHash(hashFunction, hash);
+
+        return hash;
     }
 
     /**
@@ -189,7 +320,29 @@ public class FeatureCheckInput {
      * @return the value for the custom dimension
      */
     public Optional<?> getDimension(String dimensionKey) {
-        return Optional.ofNullable(this.dimensions.get(dimensionKey));
+        if (DimensionKey.USER_ID.name().equals(dimensionKey)) {
+            return this.userId;
+        }
+
+        if (DimensionKey.DATE_TIME.name().equals(dimensionKey)) {
+            return this.dateTime;
+        }
+
+        // A key that is not registered can only have been added by the key
+        Dimension dimension = Dimension.find(dimensionKey);
+        return Optional.ofNullable(dimension == null ? this.dimensions.get(dimensionKey) : this.dimensions.get(dimension));
+    }
+
+    /**
+     * @param dimension a registered custom dimension
+     * @return the value for the custom dimension
+     */
+    public Optional<?> getDimension(Dimension dimension) {
+        if (dimension.isBuiltIn()) {
+            return getDimension(dimension.getKey());
+        }
+
+        return Optional.ofNullable(this.dimensions.get(dimension));
     }
 
     @Override
@@ -199,18 +352,24 @@ public class FeatureCheckInput {
         if (o == null || getClass() != o.getClass())
             return false;
         FeatureCheckInput that = (FeatureCheckInput) o;
-        return Objects.equals(dimensions, that.dimensions);
+        return Objects.equals(userId, that.userId) &&
+            Objects.equals(dateTime, that.dateTime) &&
+            Objects.equals(dimensions, that.dimensions);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(dimensions);
+        return Objects.hash(userId, dateTime, dimensions);
     }
 
     @Override
     public String toString() {
+        Map<String, Object> allDimensions = new LinkedHashMap<>(this.dimensions.toMap());
+        this.userId.ifPresent(v -> allDimensions.put(DimensionKey.USER_ID.name(), v));
+        this.dateTime.ifPresent(v -> allDimensions.put(DimensionKey.DATE_TIME.name(), v));
+
         return "FeatureCheckInput{" +
-            "dimensions=" + dimensions +
+            "dimensions=" + allDimensions +
             '}';
     }
 }
@@ -1,5 +1,10 @@
 package com.nike.moirai;
 
+import java.time.Instant;
+import java.util.BitSet;
+import java.util.List;
+import java.util.stream.Stream;
+
 /**
  * A FeatureFlagChecker allows checking of some feature (identified by a String) is enabled for some {@link FeatureCheckInput}.
  */
@@ -20,4 +25,76 @@ public interface FeatureFlagChecker {
      * @return whether the feature should be enabled
      */
     boolean isFeatureEnabled(String featureIdentifier);
+
+    /**
+     * Checks which of the features should be enabled given the provided input. Implementations can override this to make all of the
+     * decisions against the same configuration, and to share work between the decisions.
+     *
+     * @param featureIdentifiers the identifiers of the features to check on
+     * @param featureCheckInput the input dimensions to base the decisions on
+     * @return a BitSet where bit {@code i} is set if the feature at index {@code i} of featureIdentifiers should be enabled
+     */
+    default BitSet enabledFeatures(List<String> featureIdentifiers, FeatureCheckInput featureCheckInput) {
+        BitSet enabledFeatures = new BitSet(featureIdentifiers.size());
+        int index = 0;
+
+        for (String featureIdentifier : featureIdentifiers) {
+            if (isFeatureEnabled(featureIdentifier, featureCheckInput)) {
+                enabledFeatures.set(index);
+            }
+            index++;
+        }
+
+        return enabledFeatures;
+    }
+
+    /**
+     * Checks which of the features should be enabled.
+     *
+     * @param featureIdentifiers the identifiers of the features to check on
+     * @return a BitSet where bit {@code i} is set if the feature at index {@code i} of featureIdentifiers should be enabled
+     */
+    default BitSet enabledFeatures(List<String> featureIdentifiers) {
+        BitSet enabledFeatures = new BitSet(featureIdentifiers.size());
+        int index = 0;
+
+        for (String featureIdentifier : featureIdentifiers) {
+            if (isFeatureEnabled(featureIdentifier)) {
+                enabledFeatures.set(index);
+            }
+            index++;
+        }
+
+        return enabledFeatures;
+    }
+
+    /**
+     * Filters the users for which the feature should be enabled. Each user is checked with the input from
+     * {@link FeatureCheckInput#forUserAtTime(String, Instant)}, using the time at which this method was called for all of the users.
+     * Implementations can override this to make all of the decisions against the same configuration, and to read the settings for
+     * the feature once.
+     * <p>
+     * The users are checked as the returned stream is consumed. Pass a parallel stream to check the users in parallel, for instance
+     * {@code Arrays.stream(userIds).parallel()}.
+     *
+     * @param featureIdentifier the identifier of the feature to check on
+     * @param userIds the ids of the users to check
+     * @return the ids of the users for which the feature should be enabled
+     */
+    default Stream<String> enabledUsers(String featureIdentifier, Stream<String> userIds) {
+        Instant dateTime = Instant.now();
+        return userIds.filter(userId -> isFeatureEnabled(featureIdentifier, FeatureCheckInput.forUserAtTime(userId, dateTime)));
+    }
+
+    /**
+     * Provides a checker that makes all of its decisions against the configuration that is current when this method is called,
+     * so that the checks made with it, for instance while handling one request, get consistent answers and share one config.
+     * Implementations backed by changing configuration must override this; the default assumes this checker is immutable and
+     * returns it.
+     *
+     * @return a checker bound to the current configuration, or this checker if it is immutable
+     */
+    default FeatureFlagChecker snapshot() {
+        return this;
+    }
 }
@@ -1,6 +1,13 @@
 package com.nike.moirai;
 
+import java.time.Duration;
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
@@ -8,6 +15,10 @@ import java.util.function.Supplier;
  * Utilities for composing {@link Supplier} instances.
  */
 public class Suppliers {
+    private static final Executor ASYNC_EXECUTOR = ForkJoinPool.getCommonPoolParallelism() > 1 ?
+        ForkJoinPool.commonPool() :
+        runnable -> new Thread(runnable).start();
+
     /**
      * Transforms the supplier by applying the given function to the results from the supplied {@link CompletableFuture}
      *
@@ -33,15 +44,193 @@ public class Suppliers {
         return () -> after.apply(input.get());
     }
 
+    /**
+     * Transforms the supplier by applying the given function to the supplied result, but only when the supplied result is a different
+     * instance than the one the function was last applied to. Otherwise the previous result of the function is returned.
+     * <p>
+     * This is intended for suppliers that return the same instance until the underlying value changes, such as
+     * {@link com.nike.moirai.resource.reload.ResourceReloader#getValue()}, so that an expensive transformation, such as parsing a
+     * config, runs once per reload instead of once per call. Concurrent calls for a new value may each apply the function.
+     *
+     * @param input the supplier to transform
+     * @param after the function to transform the supplied value
+     * @param <T> the input value type
+     * @param <U> the result value type
+     * @return the transformed supplier
+     */
+    public static <T, U> Supplier<U> memoizedSupplierAndThen(Supplier<T> input, Function<T, U> after) {
+        return new Supplier<U>() {
+            private volatile Memoized<T, U> memoized;
+
+            @Override
+            public U get() {
+                T value = input.get();
+                Memoized<T, U> current = this.memoized;
+
+                if (current != null && current.input == value) {
+                    return current.output;
+                }
+
+                U output = after.apply(value);
+                this.memoized = new Memoized<>(value, output);
+                return output;
+            }
+        };
+    }
+
+    /**
+     * Memoizes the value of the supplier for the given duration. The supplier is called on the first call and again on the first call
+     * after the duration has passed since the value was supplied; calls in the meantime return that value. Only one caller at a time
+     * calls the supplier.
+     *
+     * @param supplier the supplier to memoize
+     * @param duration how long to keep a supplied value
+     * @param <T> the supplier value type
+     * @return a supplier that keeps each value for the duration
+     */
+    public static <T> Supplier<T> memoize(Supplier<T> supplier, Duration duration) {
+        long durationNanos = duration.toNanos();
+
+        return new Supplier<T>() {
+            private volatile Timestamped<T> memoized;
+
+            @Override
+            public T get() {
+                Timestamped<T> current = this.memoized;
+
+                if (current != null && System.nanoTime() - current.suppliedAtNanos < durationNanos) {
+                    return current.value;
+                }
+
+                synchronized (this) {
+                    current = this.memoized;
+
+                    if (current != null && System.nanoTime() - current.suppliedAtNanos < durationNanos) {
+                        return current.value;
+                    }
+
+                    T value = supplier.get();
+                    this.memoized = new Timestamped<>(value, System.nanoTime());
+                    return value;
+                }
+            }
+        };
+    }
+
     /**
      * Transforms a supplier of a value to a supplier of that value as CompletableFuture for use in an asynchronous context.
+     * <p>
+     * The supplier is called in the {@link ForkJoinPool#commonPool()}, or in a new thread if the common pool does not support
+     * parallelism, as with {@link CompletableFuture#supplyAsync(Supplier)}. Use {@link #async(Supplier, Executor)} or
+     * {@link #asyncOnVirtualThreads(Supplier)} for a supplier that blocks, such as one that reads a file or calls a remote service, so
+     * that it does not hold up other work in the common pool.
+     * <p>
+     * Cancelling a supplied future with {@code mayInterruptIfRunning} interrupts the call to the supplier if it is running, so that a
+     * {@link com.nike.moirai.resource.reload.ResourceReloader} can stop a load that has timed out.
      *
      * @param supplier the supplier to transform
      * @param <T> the supplier value type
      * @return a supplier that wraps the value in a {@link CompletableFuture}
      */
     public static <T> Supplier<CompletableFuture<T>> async(Supplier<T> supplier) {
-        return () -> CompletableFuture.supplyAsync(supplier);
+        return async(supplier, ASYNC_EXECUTOR);
+    }
+
+    /**
+     * Transforms a supplier of a value to a supplier of that value as CompletableFuture, calling the supplier with the given executor.
+     * As with {@link #async(Supplier)}, cancelling a supplied future with {@code mayInterruptIfRunning} interrupts the call to the
+     * supplier if it is running.
+     *
+     * @param supplier the supplier to transform
+     * @param executor the executor to call the supplier with
+     * @param <T> the supplier value type
+     * @return a supplier that wraps the value in a {@link CompletableFuture}
+     */
+    public static <T> Supplier<CompletableFuture<T>> async(Supplier<T> supplier, Executor executor) {
+        Objects.requireNonNull(executor);
+
+        return () -> {
+            InterruptibleFuture<T> future = new InterruptibleFuture<>();
+            FutureTask<Void> task = new FutureTask<>(() -> {
+                try {
+                    future.complete(supplier.get());
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            }, null);
+
+            future.task = task;
+            executor.execute(task);
+
+            return future;
+        };
+    }
+
+    /**
+     * Transforms a supplier of a value to a supplier of that value as CompletableFuture, calling the supplier in a thread of its own.
+     * When the JVM supports virtual threads, each call is made in a new virtual thread; otherwise each call is made in a daemon thread
+     * from a cached pool that is only used for these calls. Either way, a blocking supplier does not hold up other work.
+     *
+     * @param supplier the supplier to transform
+     * @param <T> the supplier value type
+     * @return a supplier that wraps the value in a {@link CompletableFuture}
+     */
+    public static <T> Supplier<CompletableFuture<T>> asyncOnVirtualThreads(Supplier<T> supplier) {
+        return async(supplier, PerTaskExecutorHolder.EXECUTOR);
+    }
+
+    private static final class PerTaskExecutorHolder {
+        private static final Executor EXECUTOR = perTaskExecutor();
+
+        private static Executor perTaskExecutor() {
+            try {
+                // Executors.newVirtualThreadPerTaskExecutor() is only available from Java 21
+                return (Executor) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                return Executors.newCachedThreadPool(runnable -> {
+                    Thread thread = new Thread(runnable);
+                    thread.setDaemon(true);
+                    thread.setName("AsyncSupplierMoiraiThread-" + thread.getId());
+
+                    return thread;
+                });
+            }
+        }
+    }
+
+    private static final class InterruptibleFuture<T> extends CompletableFuture<T> {
+        private volatile Future<?> task;
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+
+            if (cancelled) {
+                task.cancel(mayInterruptIfRunning);
+            }
+
+            return cancelled;
+        }
+    }
+
+    private static final class Memoized<T, U> {
+        private final T input;
+        private final U output;
+
+        private Memoized(T input, U output) {
+            this.input = input;
+            this.output = output;
+        }
+    }
+
+    private static final class Timestamped<T> {
+        private final T value;
+        private final long suppliedAtNanos;
+
+        private Timestamped(T value, long suppliedAtNanos) {
+            this.value = value;
+            this.suppliedAtNanos = suppliedAtNanos;
+        }
     }
 
     private Suppliers() {
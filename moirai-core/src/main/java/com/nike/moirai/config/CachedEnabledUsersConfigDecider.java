@@ -0,0 +1,26 @@
+package com.nike.moirai.config;
+
+import java.util.Set;
+
+/**
+ * Returns true for a configured list of users, like {@link EnabledUsersConfigDecider}, but keeps the enabled users for each
+ * feature in a hash set for as long as the same config instance is provided.
+ * <p>
+ * Use this when the collection of enabled users is large and the config is reused across checks, for instance when it is provided
+ * by a {@link com.nike.moirai.resource.reload.ResourceReloader}. See {@link EnabledValueSetCache}.
+ *
+ * @param <T> the type of config
+ */
+public abstract class CachedEnabledUsersConfigDecider<T> extends EnabledUsersConfigDecider<T> {
+    private final EnabledValueSetCache<T, String> enabledUserSets = new EnabledValueSetCache<>(this::enabledUsers);
+
+    @Override
+    protected boolean isEnabledValue(T config, String featureIdentifier, String userId) {
+        return enabledUserSets.enabledValueSet(config, featureIdentifier).contains(userId);
+    }
+
+    @Override
+    protected Set<String> enabledValueSet(T config, String featureIdentifier) {
+        return enabledUserSets.enabledValueSet(config, featureIdentifier);
+    }
+}
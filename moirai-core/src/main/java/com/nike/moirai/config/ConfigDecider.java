@@ -0,0 +1,116 @@
+package com.nike.moirai.config;
+
+import com.nike.moirai.FeatureCheckInput;
+
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * A Predicate for config decisions that can also be decided directly from the parts of the input, without creating a
+ * {@link ConfigDecisionInput} for each check.
+ * <p>
+ * The abstract deciders in this package implement this interface, and combining two ConfigDeciders with {@link #and(Predicate)},
+ * {@link #or(Predicate)} or {@link #negate()} results in another ConfigDecider, so {@link com.nike.moirai.ConfigFeatureFlagChecker} can
+ * check features without allocating per check. Any other Predicate can be adapted with {@link #from(Predicate)}.
+ *
+ * @param <C> the type of config
+ */
+@FunctionalInterface
+public interface ConfigDecider<C> extends Predicate<ConfigDecisionInput<C>> {
+    /**
+     * Decides if the feature should be enabled.
+     *
+     * @param config the config to use for the decision
+     * @param featureIdentifier the feature to decide upon
+     * @param featureCheckInput the input data for the decision
+     * @return whether the feature should be enabled
+     */
+    boolean decide(C config, String featureIdentifier, FeatureCheckInput featureCheckInput);
+
+    @Override
+    default boolean test(ConfigDecisionInput<C> configDecisionInput) {
+        return decide(configDecisionInput.getConfig(), configDecisionInput.getFeatureIdentifier(), configDecisionInput.getFeatureCheckInput());
+    }
+
+    /**
+     * Resolves the decision for a feature against a config once, so that the feature can be checked for many inputs. By default each
+     * check calls {@link #decide(Object, String, FeatureCheckInput)}; implementations can override this to read their settings for
+     * the feature from the config once instead of for every input.
+     *
+     * @param config the config to use for the decisions
+     * @param featureIdentifier the feature to decide upon
+     * @return a predicate that decides if the feature should be enabled for an input
+     */
+    default Predicate<FeatureCheckInput> forFeature(C config, String featureIdentifier) {
+        return featureCheckInput -> decide(config, featureIdentifier, featureCheckInput);
+    }
+
+    @Override
+    default ConfigDecider<C> and(Predicate<? super ConfigDecisionInput<C>> other) {
+        ConfigDecider<C> otherDecider = from(other);
+        return new ConfigDecider<C>() {
+            @Override
+            public boolean decide(C config, String featureIdentifier, FeatureCheckInput featureCheckInput) {
+                return ConfigDecider.this.decide(config, featureIdentifier, featureCheckInput) &&
+                    otherDecider.decide(config, featureIdentifier, featureCheckInput);
+            }
+
+            @Override
+            public Predicate<FeatureCheckInput> forFeature(C config, String featureIdentifier) {
+                return ConfigDecider.this.forFeature(config, featureIdentifier).and(otherDecider.forFeature(config, featureIdentifier));
+            }
+        };
+    }
+
+    @Override
+    default ConfigDecider<C> or(Predicate<? super ConfigDecisionInput<C>> other) {
+        ConfigDecider<C> otherDecider = from(other);
+        return new ConfigDecider<C>() {
+            @Override
+            public boolean decide(C config, String featureIdentifier, FeatureCheckInput featureCheckInput) {
+                return ConfigDecider.this.decide(config, featureIdentifier, featureCheckInput) ||
+                    otherDecider.decide(config, featureIdentifier, featureCheckInput);
+            }
+
+            @Override
+            public Predicate<FeatureCheckInput> forFeature(C config, String featureIdentifier) {
+                return ConfigDecider.this.forFeature(config, featureIdentifier).or(otherDecider.forFeature(config, featureIdentifier));
+            }
+        };
+    }
+
+    @Override
+    default ConfigDecider<C> negate() {
+        return new ConfigDecider<C>() {
+            @Override
+            public boolean decide(C config, String featureIdentifier, FeatureCheckInput featureCheckInput) {
+                return !ConfigDecider.this.decide(config, featureIdentifier, featureCheckInput);
+            }
+
+            @Override
+            public Predicate<FeatureCheckInput> forFeature(C config, String featureIdentifier) {
+                return ConfigDecider.this.forFeature(config, featureIdentifier).negate();
+            }
+        };
+    }
+
+    /**
+     * Adapts a Predicate to a ConfigDecider. If the predicate is already a ConfigDecider, it is returned as-is, otherwise each
+     * decision will create a {@link ConfigDecisionInput} to test the predicate with.
+     *
+     * @param predicate the predicate to adapt
+     * @param <C> the type of config
+     * @return a ConfigDecider with the same result as the predicate
+     */
+    @SuppressWarnings("unchecked")
+    static <C> ConfigDecider<C> from(Predicate<? super ConfigDecisionInput<C>> predicate) {
+        Objects.requireNonNull(predicate);
+
+        if (predicate instanceof ConfigDecider) {
+            return (ConfigDecider<C>) (Object) predicate;
+        }
+
+        return (config, featureIdentifier, featureCheckInput) ->
+            predicate.test(new ConfigDecisionInput<>(config, featureIdentifier, featureCheckInput));
+    }
+}
@@ -1,7 +1,9 @@
 package com.nike.moirai.config;
 
+import com.nike.moirai.Dimension;
 import com.nike.moirai.FeatureCheckInput;
 
+import java.util.Optional;
 import java.util.function.Predicate;
 
 /**
@@ -16,7 +18,8 @@ public class ConfigDeciders {
      * @return false if there is no userId in the input, otherwise the result of the predicate applied to the userId
      */
     public static boolean userIdCheck(FeatureCheckInput featureCheckInput, Predicate<String> userIdCheck) {
-        return featureCheckInput.getUserId().map(userIdCheck::test).orElse(false);
+        Optional<String> userId = featureCheckInput.getUserId();
+        return userId.isPresent() && userIdCheck.test(userId.get());
     }
 
     /**
@@ -28,7 +31,21 @@ public class ConfigDeciders {
      * @return false if there is no userId in the input, otherwise the result of the predicate applied to the userId
      */
     public static boolean customDimensionCheck(FeatureCheckInput featureCheckInput, String dimensionKey, Predicate<Object> dimensionCheck) {
-        return featureCheckInput.getDimension(dimensionKey).map(dimensionCheck::test).orElse(false);
+        Optional<?> dimensionValue = featureCheckInput.getDimension(dimensionKey);
+        return dimensionValue.isPresent() && dimensionCheck.test(dimensionValue.get());
+    }
+
+    /**
+     * Apply a predicate to the dimension value from a feature check input, reading the dimension by its slot instead of its key.
+     *
+     * @param featureCheckInput the input to check
+     * @param dimension the dimension to check
+     * @param dimensionCheck the predicate to apply
+     * @return false if there is no value for the dimension in the input, otherwise the result of the predicate applied to the value
+     */
+    public static boolean customDimensionCheck(FeatureCheckInput featureCheckInput, Dimension dimension, Predicate<Object> dimensionCheck) {
+        Optional<?> dimensionValue = featureCheckInput.getDimension(dimension);
+        return dimensionValue.isPresent() && dimensionCheck.test(dimensionValue.get());
     }
 
     private ConfigDeciders() {
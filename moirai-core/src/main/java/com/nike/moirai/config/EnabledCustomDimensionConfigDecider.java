@@ -1,9 +1,11 @@
 package com.nike.moirai.config;
 
+import com.nike.moirai.Dimension;
 import com.nike.moirai.FeatureCheckInput;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Optional;
 import java.util.function.Predicate;
 
 import static com.nike.moirai.config.ConfigDeciders.customDimensionCheck;
@@ -17,9 +19,40 @@ import static com.nike.moirai.config.ConfigDeciders.customDimensionCheck;
 public abstract class EnabledCustomDimensionConfigDecider<C, V> extends EnabledValuesConfigDecider<C, V> {
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
+    // Resolved from the dimension key on first use, as the key is provided by the subclass
+    private volatile Dimension dimension;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean decide(C config, String featureIdentifier, FeatureCheckInput featureCheckInput) {
+        Optional<?> value = featureCheckInput.getDimension(dimension());
+
+        if (!value.isPresent()) {
+            return false;
+        }
+
+        try {
+            return isEnabledValue(config, featureIdentifier, (V) value.get());
+        } catch (ClassCastException e) {
+            logger.warn("Mismatched type found, got: " + value.get(), e);
+            return false;
+        }
+    }
+
     @Override
     protected boolean checkValue(FeatureCheckInput featureCheckInput, Predicate<V> check) {
-        return customDimensionCheck(featureCheckInput, dimensionKey(), cast(check));
+        return customDimensionCheck(featureCheckInput, dimension(), cast(check));
+    }
+
+    private Dimension dimension() {
+        Dimension resolved = this.dimension;
+
+        if (resolved == null) {
+            resolved = Dimension.named(dimensionKey());
+            this.dimension = resolved;
+        }
+
+        return resolved;
     }
 
     @SuppressWarnings("unchecked")
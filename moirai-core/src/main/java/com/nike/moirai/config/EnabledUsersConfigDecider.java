@@ -3,6 +3,7 @@ package com.nike.moirai.config;
 import com.nike.moirai.FeatureCheckInput;
 
 import java.util.Collection;
+import java.util.Optional;
 import java.util.function.Predicate;
 
 import static com.nike.moirai.config.ConfigDeciders.userIdCheck;
@@ -13,6 +14,12 @@ import static com.nike.moirai.config.ConfigDeciders.userIdCheck;
  * @param <T> the type of config
  */
 public abstract class EnabledUsersConfigDecider<T> extends EnabledValuesConfigDecider<T, String> {
+    @Override
+    public boolean decide(T config, String featureIdentifier, FeatureCheckInput featureCheckInput) {
+        Optional<String> userId = featureCheckInput.getUserId();
+        return userId.isPresent() && isEnabledValue(config, featureIdentifier, userId.get());
+    }
+
     @Override
     protected boolean checkValue(FeatureCheckInput featureCheckInput, Predicate<String> check) {
         return userIdCheck(featureCheckInput, check);
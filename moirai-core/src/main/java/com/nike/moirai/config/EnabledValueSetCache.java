@@ -0,0 +1,85 @@
+package com.nike.moirai.config;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiFunction;
+
+/**
+ * Caches the enabled values for each feature as a {@link Set}, so that checking membership is a hash lookup rather than a scan of
+ * the collection provided by the config.
+ * <p>
+ * The sets are kept for the two most recent config instances (compared by identity). When called with another config instance, the
+ * sets of the older of the two are discarded, and sets are built from the new config as features are checked. Keeping two means that
+ * checks still using the previous config while a reloaded one comes into use, or two checkers sharing a decider, do not discard each
+ * other's sets. This works well with a config that is replaced on reload, such as the value of a
+ * {@link com.nike.moirai.resource.reload.ResourceReloader}, but provides no benefit for a config that is recreated for every check.
+ *
+ * @param <C> the type of config
+ * @param <V> the type of the enabled values
+ */
+public final class EnabledValueSetCache<C, V> {
+    private static final class EnabledValueSets<C, V> {
+        final C config;
+        final ConcurrentMap<String, Set<V>> setsByFeature = new ConcurrentHashMap<>();
+
+        EnabledValueSets(C config) {
+            this.config = config;
+        }
+    }
+
+    private final BiFunction<C, String, ? extends Collection<V>> enabledValues;
+
+    // The sets of the most recent config, and of the one before it
+    private volatile EnabledValueSets<C, V> latestSets = null;
+    private volatile EnabledValueSets<C, V> previousSets = null;
+
+    /**
+     * @param enabledValues provides the collection of enabled values for a config and feature
+     */
+    public EnabledValueSetCache(BiFunction<C, String, ? extends Collection<V>> enabledValues) {
+        this.enabledValues = enabledValues;
+    }
+
+    /**
+     * @param config the config source
+     * @param featureIdentifier the feature
+     * @return the enabled values for the feature in the config as an unmodifiable set
+     */
+    public Set<V> enabledValueSet(C config, String featureIdentifier) {
+        EnabledValueSets<C, V> sets = enabledValueSets(config);
+
+        Set<V> set = sets.setsByFeature.get(featureIdentifier);
+
+        if (set == null) {
+            set = Collections.unmodifiableSet(new HashSet<>(this.enabledValues.apply(config, featureIdentifier)));
+            sets.setsByFeature.putIfAbsent(featureIdentifier, set);
+        }
+
+        return set;
+    }
+
+    private EnabledValueSets<C, V> enabledValueSets(C config) {
+        EnabledValueSets<C, V> latest = this.latestSets;
+
+        if (latest != null && latest.config == config) {
+            return latest;
+        }
+
+        EnabledValueSets<C, V> previous = this.previousSets;
+
+        if (previous != null && previous.config == config) {
+            return previous;
+        }
+
+        // Racing threads may each replace the sets, which only costs rebuilding some of them
+        EnabledValueSets<C, V> sets = new EnabledValueSets<>(config);
+        this.previousSets = latest;
+        this.latestSets = sets;
+
+        return sets;
+    }
+}
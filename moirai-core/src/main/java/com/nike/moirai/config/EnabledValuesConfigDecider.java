@@ -3,6 +3,8 @@ package com.nike.moirai.config;
 import com.nike.moirai.FeatureCheckInput;
 
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.function.Predicate;
 
 /**
@@ -11,12 +13,57 @@ import java.util.function.Predicate;
  * @param <C> the type of config
  * @param <V> the type of the
  */
-public abstract class EnabledValuesConfigDecider<C, V> implements Predicate<ConfigDecisionInput<C>> {
+public abstract class EnabledValuesConfigDecider<C, V> implements ConfigDecider<C> {
+    /**
+     * Final, as checkers and combined deciders call {@link #decide(Object, String, FeatureCheckInput)} rather than this method, so an
+     * override of it would be ignored. Override {@code decide} instead.
+     */
+    @Override
+    public final boolean test(ConfigDecisionInput<C> configDecisionInput) {
+        return decide(configDecisionInput.getConfig(), configDecisionInput.getFeatureIdentifier(), configDecisionInput.getFeatureCheckInput());
+    }
+
+    @Override
+    public boolean decide(C config, String featureIdentifier, FeatureCheckInput featureCheckInput) {
+        return checkValue(featureCheckInput, value -> isEnabledValue(config, featureIdentifier, value));
+    }
+
+    /**
+     * Reads the enabled values for the feature once, from {@link #enabledValueSet(Object, String)}, and checks each input against
+     * them.
+     */
     @Override
-    public boolean test(ConfigDecisionInput<C> configDecisionInput) {
-        return checkValue(configDecisionInput.getFeatureCheckInput(), value ->
-            enabledValues(configDecisionInput.getConfig(), configDecisionInput.getFeatureIdentifier()).contains(value)
-        );
+    public Predicate<FeatureCheckInput> forFeature(C config, String featureIdentifier) {
+        Set<V> enabledValues = enabledValueSet(config, featureIdentifier);
+        Predicate<V> isEnabledValue = enabledValues::contains;
+        return featureCheckInput -> checkValue(featureCheckInput, isEnabledValue);
+    }
+
+    /**
+     * Provides the enabled values for the feature as a set, for checking a feature for many inputs. By default this copies the
+     * collection returned by {@link #enabledValues(Object, String)}. Override this along with
+     * {@link #isEnabledValue(Object, String, Object)} if enabled values are looked up differently.
+     *
+     * @param config the config source
+     * @param featureIdentifier the feature
+     * @return the set of values that should be enabled for the feature
+     */
+    protected Set<V> enabledValueSet(C config, String featureIdentifier) {
+        return new HashSet<>(enabledValues(config, featureIdentifier));
+    }
+
+    /**
+     * Checks if the value is one of the enabled values for the feature. By default this checks if the collection returned by
+     * {@link #enabledValues(Object, String)} contains the value. Override this to use a faster lookup, such as an
+     * {@link EnabledValueSetCache}.
+     *
+     * @param config the config source
+     * @param featureIdentifier the feature
+     * @param value the value from the feature check input
+     * @return whether the value is enabled for the feature
+     */
+    protected boolean isEnabledValue(C config, String featureIdentifier, V value) {
+        return enabledValues(config, featureIdentifier).contains(value);
     }
 
     /**
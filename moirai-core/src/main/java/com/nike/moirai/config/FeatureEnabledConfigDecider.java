@@ -1,5 +1,7 @@
 package com.nike.moirai.config;
 
+import com.nike.moirai.FeatureCheckInput;
+
 import java.util.Optional;
 import java.util.function.Predicate;
 
@@ -8,10 +10,28 @@ import java.util.function.Predicate;
  *
  * @param <T> the type of config
  */
-public abstract class FeatureEnabledConfigDecider<T> implements Predicate<ConfigDecisionInput<T>> {
+public abstract class FeatureEnabledConfigDecider<T> implements ConfigDecider<T> {
+    /**
+     * Final, as checkers and combined deciders call {@link #decide(Object, String, FeatureCheckInput)} rather than this method, so an
+     * override of it would be ignored. Override {@code decide} instead.
+     */
+    @Override
+    public final boolean test(ConfigDecisionInput<T> configDecisionInput) {
+        return decide(configDecisionInput.getConfig(), configDecisionInput.getFeatureIdentifier(), configDecisionInput.getFeatureCheckInput());
+    }
+
+    @Override
+    public boolean decide(T config, String featureIdentifier, FeatureCheckInput featureCheckInput) {
+        return featureEnabled(config, featureIdentifier).orElse(false);
+    }
+
+    /**
+     * Reads the value for the feature once, as it does not depend on the input.
+     */
     @Override
-    public boolean test(ConfigDecisionInput<T> configDecisionInput) {
-        return featureEnabled(configDecisionInput.getConfig(), configDecisionInput.getFeatureIdentifier()).orElse(false);
+    public Predicate<FeatureCheckInput> forFeature(T config, String featureIdentifier) {
+        boolean enabled = featureEnabled(config, featureIdentifier).orElse(false);
+        return featureCheckInput -> enabled;
     }
 
     /**
@@ -0,0 +1,168 @@
+package com.nike.moirai.config;
+
+import java.util.function.ToIntFunction;
+
+/**
+ * How {@link ProportionOfUsersConfigDecider} assigns users to buckets for a feature group. A user is enabled when the fraction of the
+ * buckets that come before the user's bucket is less than the enabled proportion.
+ */
+public enum ProportionBucketing {
+    /**
+     * The original bucketing, which assigns users to one of 100 buckets based on the {@code hashCode()} of the userId concatenated with
+     * the feature group. This is the default, so that users keep their assignments. The hash is computed without concatenating the
+     * strings, but is the same as the hash of the concatenated string.
+     */
+    HASH_CODE(100) {
+        @Override
+        int hashUserId(String userId) {
+            return userId.hashCode();
+        }
+
+        /**
+         * Keeps the multiplier for the length of the group in the high bits, and the {@code hashCode()} of the group in the low bits.
+         */
+        @Override
+        long hashGroup(String hashGroup) {
+            return ((long) pow31(hashGroup.length()) << 32) | (hashGroup.hashCode() & 0xFFFFFFFFL);
+        }
+
+        @Override
+        int bucket(int userIdHash, long groupHash) {
+            return Math.abs(userIdHash * (int) (groupHash >>> 32) + (int) groupHash) % 100;
+        }
+    },
+
+    /**
+     * Assigns users to one of 10,000 buckets based on a MurmurHash3 of the userId combined with a MurmurHash3 of the feature group.
+     * Users are spread evenly over the buckets even when their ids are sequential, and proportions can be rolled out in steps of
+     * 0.0001. Users are assigned to different buckets than with {@link #HASH_CODE}, so switching a partially enabled feature to this
+     * bucketing changes which users it is enabled for.
+     */
+    MURMUR3(10_000) {
+        @Override
+        int hashUserId(String userId) {
+            return murmur3(userId);
+        }
+
+        @Override
+        long hashGroup(String hashGroup) {
+            return murmur3(hashGroup);
+        }
+
+        @Override
+        int bucket(int userIdHash, long groupHash) {
+            int hash = fmix32(mixH1((int) groupHash, mixK1(userIdHash)) ^ 4);
+            return (int) (((hash & 0xFFFFFFFFL) * 10_000) >>> 32);
+        }
+    };
+
+    private static final int SEED = 0x6d6f6972;
+    private static final int C1 = 0xcc9e2d51;
+    private static final int C2 = 0x1b873593;
+
+    private final int buckets;
+    private final ToIntFunction<String> userIdHashFunction = this::hashUserId;
+
+    ProportionBucketing(int buckets) {
+        this.buckets = buckets;
+    }
+
+    /**
+     * @return the number of buckets users are assigned to
+     */
+    public int getBuckets() {
+        return buckets;
+    }
+
+    /**
+     * Decides whether the user is in the enabled proportion of the feature group.
+     *
+     * @param userId the user
+     * @param hashGroup the feature group, or the feature identifier for a feature without a group
+     * @param proportion the enabled proportion
+     * @return true if the user's bucket is within the enabled proportion
+     */
+    public boolean isEnabled(String userId, String hashGroup, double proportion) {
+        return isEnabled(bucket(hashUserId(userId), hashGroup(hashGroup)), proportion);
+    }
+
+    boolean isEnabled(int bucket, double proportion) {
+        return bucket / (double) buckets < proportion;
+    }
+
+    /**
+     * @return the hash of the userId, which {@link #bucket(int, long)} maps to a bucket
+     */
+    abstract int hashUserId(String userId);
+
+    /**
+     * @return a shared instance of {@link #hashUserId(String)}, for {@link com.nike.moirai.FeatureCheckInput#getUserIdHash}
+     */
+    ToIntFunction<String> userIdHashFunction() {
+        return userIdHashFunction;
+    }
+
+    /**
+     * @return the hash of the feature group, which {@link #bucket(int, long)} combines with the hash of a userId
+     */
+    abstract long hashGroup(String hashGroup);
+
+    /**
+     * Maps the hashes of a userId and a feature group to the user's bucket in the group, without allocating, so that it can be
+     * called for every check.
+     *
+     * @return the user's bucket in the feature group
+     */
+    abstract int bucket(int userIdHash, long groupHash);
+
+    private static int pow31(int exponent) {
+        int result = 1;
+        int base = 31;
+
+        for (int e = exponent; e > 0; e >>= 1) {
+            if ((e & 1) == 1) {
+                result *= base;
+            }
+            base *= base;
+        }
+
+        return result;
+    }
+
+    /**
+     * The 32-bit MurmurHash3 of the UTF-16 chars of the string, two chars to a block, without encoding it into bytes.
+     */
+    private static int murmur3(String s) {
+        int h1 = SEED;
+        int length = s.length();
+
+        for (int i = 1; i < length; i += 2) {
+            int k1 = s.charAt(i - 1) | (s.charAt(i) << 16);
+            h1 = mixH1(h1, mixK1(k1));
+        }
+
+        if ((length & 1) == 1) {
+            h1 ^= mixK1(s.charAt(length - 1));
+        }
+
+        return fmix32(h1 ^ (2 * length));
+    }
+
+    private static int mixK1(int k1) {
+        return Integer.rotateLeft(k1 * C1, 15) * C2;
+    }
+
+    private static int mixH1(int h1, int k1) {
+        return Integer.rotateLeft(h1 ^ k1, 13) * 5 + 0xe6546b64;
+    }
+
+    private static int fmix32(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+
+        return h;
+    }
+}
@@ -1,33 +1,85 @@
 package com.nike.moirai.config;
 
+import com.nike.moirai.FeatureCheckInput;
+
 import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.function.Predicate;
 
-import static com.nike.moirai.config.ConfigDeciders.userIdCheck;
-
 /**
  * Returns true for a configured proportion of users. The proportion is based on the hashCode() of the userId concatenated with the featureIdentifier,
  * so a consistent answer will be returned for each userId for a feature. Returns false if no proportion configuration is provided for the feature identifier.
+ * <p>
+ * Users are assigned to buckets by {@link ProportionBucketing#HASH_CODE} unless another {@link ProportionBucketing} is given to the constructor.
  *
  * @param <T> the type of config
  */
-public abstract class ProportionOfUsersConfigDecider<T> implements Predicate<ConfigDecisionInput<T>> {
+public abstract class ProportionOfUsersConfigDecider<T> implements ConfigDecider<T> {
+    private final ProportionBucketing bucketing;
+
+    /**
+     * Creates a decider that assigns users to buckets by {@link ProportionBucketing#HASH_CODE}.
+     */
+    protected ProportionOfUsersConfigDecider() {
+        this(ProportionBucketing.HASH_CODE);
+    }
+
+    /**
+     * @param bucketing how to assign users to buckets
+     */
+    protected ProportionOfUsersConfigDecider(ProportionBucketing bucketing) {
+        this.bucketing = bucketing;
+    }
+
+    /**
+     * Final, as checkers and combined deciders call {@link #decide(Object, String, FeatureCheckInput)} rather than this method, so an
+     * override of it would be ignored. Override {@code decide} instead.
+     */
     @Override
-    public boolean test(ConfigDecisionInput<T> configDecisionInput) {
-        return userIdCheck(configDecisionInput.getFeatureCheckInput(), userId ->
-            enabledProportion(configDecisionInput.getConfig(), configDecisionInput.getFeatureIdentifier()).map(enabledProportion ->
-                userHashEnabled(
-                    userId,
-                    configDecisionInput.getFeatureIdentifier(),
-                    featureGroup(configDecisionInput.getConfig(), configDecisionInput.getFeatureIdentifier()),
-                    enabledProportion
-                )
-            ).orElse(false)
-        );
+    public final boolean test(ConfigDecisionInput<T> configDecisionInput) {
+        return decide(configDecisionInput.getConfig(), configDecisionInput.getFeatureIdentifier(), configDecisionInput.getFeatureCheckInput());
     }
 
-    private boolean userHashEnabled(String userId, String featureIdentifier, Optional<String> featureGroup, double proportion) {
-        return (Math.abs((userId + featureGroup.orElse(featureIdentifier)).hashCode()) % 100) / 100.0 < proportion;
+    @Override
+    public boolean decide(T config, String featureIdentifier, FeatureCheckInput featureCheckInput) {
+        if (!featureCheckInput.getUserId().isPresent()) {
+            return false;
+        }
+
+        Optional<Double> enabledProportion = enabledProportion(config, featureIdentifier);
+
+        if (!enabledProportion.isPresent()) {
+            return false;
+        }
+
+        long groupHash = bucketing.hashGroup(featureGroup(config, featureIdentifier).orElse(featureIdentifier));
+        return userEnabled(featureCheckInput, groupHash, enabledProportion.get());
+    }
+
+    /**
+     * Reads the proportion and feature group for the feature once, and checks each input against them.
+     */
+    @Override
+    public Predicate<FeatureCheckInput> forFeature(T config, String featureIdentifier) {
+        Optional<Double> enabledProportion = enabledProportion(config, featureIdentifier);
+
+        if (!enabledProportion.isPresent()) {
+            return featureCheckInput -> false;
+        }
+
+        double proportion = enabledProportion.get();
+        long groupHash = bucketing.hashGroup(featureGroup(config, featureIdentifier).orElse(featureIdentifier));
+
+        return featureCheckInput -> userEnabled(featureCheckInput, groupHash, proportion);
+    }
+
+    /**
+     * Hashes the userId once per input, so that checking several features for the same input only combines the hash with the hash of
+     * each feature group.
+     */
+    private boolean userEnabled(FeatureCheckInput featureCheckInput, long groupHash, double proportion) {
+        OptionalInt userIdHash = featureCheckInput.getUserIdHash(bucketing.userIdHashFunction());
+        return userIdHash.isPresent() && bucketing.isEnabled(bucketing.bucket(userIdHash.getAsInt(), groupHash), proportion);
     }
 
     /**
@@ -0,0 +1,147 @@
+package com.nike.moirai.resource;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Supplier;
+
+/**
+ * Methods for loading resources from the file system without blocking the calling thread, for use as the resource loader of a
+ * {@link com.nike.moirai.resource.reload.ResourceReloader}.
+ * <p>
+ * Files are read with an {@link AsynchronousFileChannel}. Classpath resources may be inside of a jar, so they are read by a small pool
+ * of daemon threads that is dedicated to loading resources, or by a provided executor. None of the loaders use the
+ * {@link java.util.concurrent.ForkJoinPool#commonPool()}.
+ */
+public class AsyncFileResourceLoaders {
+    private static final int IO_THREADS = 2;
+
+    private static final class ResourceLoaderThreadFactory implements ThreadFactory {
+        private final ThreadFactory delegate = Executors.defaultThreadFactory();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = delegate.newThread(r);
+            thread.setDaemon(true);
+            thread.setName("AsyncResourceLoaderMoiraiThread-" + thread.getName());
+
+            return thread;
+        }
+    }
+
+    private static final class IoExecutorHolder {
+        private static final ExecutorService IO_EXECUTOR = Executors.newFixedThreadPool(IO_THREADS, new ResourceLoaderThreadFactory());
+    }
+
+    /**
+     * Supplies the contents of a file as a string, decoded as UTF-8. Unlike {@link FileResourceLoaders#forFile(File)}, line separators
+     * are kept as they are in the file.
+     *
+     * @param file the file to read
+     * @return a supplier that will start reading the file when called
+     */
+    public static Supplier<CompletableFuture<String>> forFile(File file) {
+        return () -> readFile(file).thenApply(buffer -> StandardCharsets.UTF_8.decode(buffer).toString());
+    }
+
+    /**
+     * Supplies the contents of a file as bytes.
+     *
+     * @param file the file to read
+     * @return a supplier that will start reading the file into a new buffer when called
+     */
+    public static Supplier<CompletableFuture<ByteBuffer>> forFileBytes(File file) {
+        return () -> readFile(file);
+    }
+
+    /**
+     * Supplies the contents of a resource on the classpath as a string, read by the pool of threads dedicated to loading resources.
+     * Will read the resource as UTF-8, as {@link FileResourceLoaders#forClasspathResource(String)}.
+     *
+     * @param path a classpath resource path, as specified in {@link ClassLoader#getResource(String)}
+     * @return a supplier that will start reading the resource when called
+     */
+    public static Supplier<CompletableFuture<String>> forClasspathResource(String path) {
+        return forClasspathResource(path, IoExecutorHolder.IO_EXECUTOR);
+    }
+
+    /**
+     * Supplies the contents of a resource on the classpath as a string, read by the given executor. Will read the resource as UTF-8,
+     * as {@link FileResourceLoaders#forClasspathResource(String)}.
+     *
+     * @param path a classpath resource path, as specified in {@link ClassLoader#getResource(String)}
+     * @param executor the executor to read the resource with
+     * @return a supplier that will start reading the resource when called
+     */
+    public static Supplier<CompletableFuture<String>> forClasspathResource(String path, Executor executor) {
+        Supplier<String> loader = FileResourceLoaders.forClasspathResource(path);
+        return () -> CompletableFuture.supplyAsync(loader, executor);
+    }
+
+    private static CompletableFuture<ByteBuffer> readFile(File file) {
+        CompletableFuture<ByteBuffer> result = new CompletableFuture<>();
+
+        AsynchronousFileChannel channel;
+        try {
+            channel = AsynchronousFileChannel.open(file.toPath(), StandardOpenOption.READ);
+        } catch (IOException | RuntimeException e) {
+            result.completeExceptionally(new RuntimeException("Error loading resource from file: " + file, e));
+            return result;
+        }
+
+        try {
+            long size = channel.size();
+
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("File is too large to read into a buffer: " + size + " bytes");
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            channel.read(buffer, 0, buffer, new CompletionHandler<Integer, ByteBuffer>() {
+                @Override
+                public void completed(Integer bytesRead, ByteBuffer buffer) {
+                    if (bytesRead >= 0 && buffer.hasRemaining()) {
+                        channel.read(buffer, buffer.position(), buffer, this);
+                        return;
+                    }
+
+                    closeQuietly(channel);
+                    buffer.flip();
+                    result.complete(buffer);
+                }
+
+                @Override
+                public void failed(Throwable e, ByteBuffer buffer) {
+                    closeQuietly(channel);
+                    result.completeExceptionally(new RuntimeException("Error loading resource from file: " + file, e));
+                }
+            });
+        } catch (IOException | RuntimeException e) {
+            closeQuietly(channel);
+            result.completeExceptionally(new RuntimeException("Error loading resource from file: " + file, e));
+        }
+
+        return result;
+    }
+
+    private static void closeQuietly(AsynchronousFileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // Nothing more can be done with the channel
+        }
+    }
+
+    private AsyncFileResourceLoaders() {
+        // Prevent instantiation
+    }
+}
@@ -7,7 +7,10 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -35,6 +38,58 @@ public class FileResourceLoaders {
         return () -> loadResourceBlocking(fileStream(file), "file://" + file.getAbsolutePath());
     }
 
+    /**
+     * Supplies the contents of a file as bytes. The file is read through a {@link FileChannel} directly into a buffer of the size of
+     * the file, without decoding it. Use {@link ByteBufferInputStream} to read the buffer with a parser that reads from a stream.
+     *
+     * @param file the file to read
+     * @return a supplier that will read the file into a new buffer when called, positioned at the start of the contents
+     */
+    public static Supplier<ByteBuffer> forFileBytes(File file) {
+        return () -> readFileBlocking(file);
+    }
+
+    /**
+     * Supplies the contents of a file as a read-only memory-mapped buffer. Mapping the file avoids copying its contents onto the heap,
+     * which suits large files. The file should be replaced rather than modified in place while a mapped buffer is in use, as changes
+     * to the mapped file are visible through the buffer.
+     *
+     * @param file the file to map
+     * @return a supplier that will map the file when called, positioned at the start of the contents
+     */
+    public static Supplier<ByteBuffer> forMappedFile(File file) {
+        return () -> mapFileBlocking(file);
+    }
+
+    private static ByteBuffer readFileBlocking(File file) {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("File is too large to read into a buffer: " + size + " bytes");
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // Keep reading until the buffer is full or the end of the file is reached
+            }
+            buffer.flip();
+
+            return buffer;
+        } catch (IOException e) {
+            throw new RuntimeException("Error loading resource from file: " + file, e);
+        }
+    }
+
+    private static ByteBuffer mapFileBlocking(File file) {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new RuntimeException("Error loading resource from file: " + file, e);
+        }
+    }
+
     private static InputStream fileStream(File file) {
         try {
             return new FileInputStream(file);
@@ -0,0 +1,218 @@
+package com.nike.moirai.resource.reload;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.Objects;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Watches a file for changes, and reacts to each change, for instance by calling {@link ResourceReloader#reloadNow()} so that a
+ * changed file is reloaded right away.
+ * <p>
+ * Changes are detected with a {@link WatchService} on the directory of the file. As a fallback for file systems where the watch service
+ * does not report changes, the last-modified time and size of the file are also checked at a poll interval. With a watcher, the
+ * {@link ResourceReloadSettings#getReloadFrequency() reload frequency} of the reloader can be long, as it only needs to catch changes
+ * that the watcher missed.
+ * <p>
+ * The file is watched by a daemon thread until {@link #close()} is called.
+ */
+public class FileChangeWatcher implements Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FileChangeWatcher.class);
+
+    // The watch service reports changes, so polling only needs to catch the rare change it misses
+    private static final Duration WATCHED_POLL_INTERVAL = Duration.ofMinutes(1);
+
+    // Polling is the only way changes are detected
+    private static final Duration UNWATCHED_POLL_INTERVAL = Duration.ofSeconds(1);
+
+    private static final class FileState {
+        private final long lastModified;
+        private final long size;
+
+        private FileState(long lastModified, long size) {
+            this.lastModified = lastModified;
+            this.size = size;
+        }
+
+        private static FileState of(Path path) {
+            try {
+                return new FileState(Files.getLastModifiedTime(path).toMillis(), Files.size(path));
+            } catch (IOException e) {
+                // Treat a missing or unreadable file as a state of its own
+                return new FileState(-1, -1);
+            }
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (o == null || getClass() != o.getClass())
+                return false;
+            FileState that = (FileState) o;
+            return lastModified == that.lastModified && size == that.size;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(lastModified, size);
+        }
+    }
+
+    /**
+     * Watches the file, and calls {@link ResourceReloader#reloadNow()} when it changes. The last-modified time and size of the file
+     * are checked every minute in case the watch service misses a change, or every second if the file cannot be watched.
+     *
+     * @param file the file to watch
+     * @param resourceReloader the reloader of the resource from the file
+     * @return a watcher, which should be closed when the file no longer needs to be watched
+     */
+    public static FileChangeWatcher forReloader(File file, ResourceReloader<?> resourceReloader) {
+        return watch(file, WATCHED_POLL_INTERVAL, UNWATCHED_POLL_INTERVAL, resourceReloader::reloadNow);
+    }
+
+    /**
+     * Watches the file, and runs the given action when it changes.
+     *
+     * @param file the file to watch
+     * @param pollInterval how often to check the last-modified time and size of the file, in case the watch service misses a change
+     * @param onChange the action to run when the file changes
+     * @return a watcher, which should be closed when the file no longer needs to be watched
+     */
+    public static FileChangeWatcher watch(File file, Duration pollInterval, Runnable onChange) {
+        return watch(file, pollInterval, pollInterval, onChange);
+    }
+
+    private static FileChangeWatcher watch(File file, Duration watchedPollInterval, Duration unwatchedPollInterval, Runnable onChange) {
+        FileChangeWatcher watcher = new FileChangeWatcher(file.toPath().toAbsolutePath(), watchedPollInterval, unwatchedPollInterval, onChange);
+        watcher.thread.start();
+
+        return watcher;
+    }
+
+    private final Path path;
+    private final Duration pollInterval;
+    private final Runnable onChange;
+    private final WatchService watchService;
+    private final Thread thread;
+
+    private volatile boolean closed = false;
+    private FileState lastState;
+
+    private FileChangeWatcher(Path path, Duration watchedPollInterval, Duration unwatchedPollInterval, Runnable onChange) {
+        this.path = path;
+        this.onChange = Objects.requireNonNull(onChange);
+        this.watchService = register(path);
+        this.pollInterval = Objects.requireNonNull(this.watchService != null ? watchedPollInterval : unwatchedPollInterval);
+        this.lastState = FileState.of(path);
+
+        this.thread = new Thread(this::watchLoop, "FileChangeWatcherMoiraiThread-" + path.getFileName());
+        this.thread.setDaemon(true);
+    }
+
+    private static WatchService register(Path path) {
+        WatchService watchService = null;
+
+        try {
+            watchService = path.getFileSystem().newWatchService();
+            path.getParent().register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+
+            return watchService;
+        } catch (IOException | UnsupportedOperationException e) {
+            LOGGER.warn("Unable to watch " + path + " for changes, will only check for changes every poll interval", e);
+            closeQuietly(watchService);
+
+            return null;
+        }
+    }
+
+    private void watchLoop() {
+        while (!this.closed) {
+            try {
+                boolean fileEvent = awaitEvents();
+                FileState state = FileState.of(this.path);
+
+                if (fileEvent || !state.equals(this.lastState)) {
+                    this.lastState = state;
+                    notifyChange();
+                }
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+        }
+    }
+
+    private boolean awaitEvents() throws InterruptedException {
+        if (this.watchService == null) {
+            Thread.sleep(this.pollInterval.toMillis());
+            return false;
+        }
+
+        WatchKey key = this.watchService.poll(this.pollInterval.toNanos(), NANOSECONDS);
+
+        if (key == null) {
+            return false;
+        }
+
+        boolean fileEvent = false;
+
+        for (WatchEvent<?> event : key.pollEvents()) {
+            // An overflow has no context, and may have included events for the file
+            fileEvent |= event.context() == null || this.path.getFileName().equals(event.context());
+        }
+
+        key.reset();
+
+        return fileEvent;
+    }
+
+    /**
+     * @return how often the last-modified time and size of the file are checked
+     */
+    Duration getPollInterval() {
+        return this.pollInterval;
+    }
+
+    private void notifyChange() {
+        try {
+            this.onChange.run();
+        } catch (RuntimeException e) {
+            LOGGER.error("Error reacting to a change of " + this.path, e);
+        }
+    }
+
+    /**
+     * Stops watching the file.
+     */
+    @Override
+    public void close() {
+        this.closed = true;
+        this.thread.interrupt();
+        closeQuietly(this.watchService);
+    }
+
+    private static void closeQuietly(WatchService watchService) {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                LOGGER.warn("Error closing watch service", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.nike.moirai.resource.reload;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Supplier;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Schedules the reloads of {@link ResourceReloader} instances, so that many reloaders can share a few threads.
+ * <p>
+ * Each reloader schedules its own reloads on the scheduler with its own {@link ResourceReloadSettings}, and waits for its resource
+ * loads without blocking a scheduler thread, so a slow resource does not delay the reloads of the other resources. The resource
+ * loaders are called on a separate pool of daemon threads, so a loader that blocks before returning its future does not stall the
+ * scheduler either, though asynchronous loaders, such as ones created with {@link com.nike.moirai.Suppliers#async}, are preferred.
+ * <p>
+ * Use {@link #shared()} for the scheduler that is shared by the whole JVM, {@link #create(int)} for a scheduler with its own threads
+ * and lifecycle, or {@link #forExecutorService(ScheduledExecutorService)} to run the reloads on an existing executor service.
+ */
+public class ResourceReloadScheduler {
+    private static final int SHARED_THREADS = 2;
+
+    private static final class ResourceReloaderThreadFactory implements ThreadFactory {
+        private final ThreadFactory delegate = Executors.defaultThreadFactory();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = delegate.newThread(r);
+            thread.setDaemon(true);
+            thread.setName("ReloadableResourceMoiraiThread-" + thread.getName());
+
+            return thread;
+        }
+    }
+
+    private static final class SharedSchedulerHolder {
+        private static final ResourceReloadScheduler SHARED = createShared();
+
+        private static ResourceReloadScheduler createShared() {
+            ResourceReloadScheduler scheduler = new ResourceReloadScheduler(newScheduledThreadPool(SHARED_THREADS), true);
+            Runtime.getRuntime().addShutdownHook(new Thread(scheduler.scheduledExecutorService::shutdown));
+
+            return scheduler;
+        }
+    }
+
+    // Calls the resource loaders off the scheduler threads. Its idle threads stop on their own, so it is never shut down
+    private static final class LoadExecutorHolder {
+        private static final ExecutorService LOAD_EXECUTOR = Executors.newCachedThreadPool(new ResourceReloaderThreadFactory());
+    }
+
+    /**
+     * The scheduler shared by the whole JVM, which is used by the {@link ResourceReloader} factories that do not take a scheduler.
+     * It uses a small pool of daemon threads that is created on first use, and a single shutdown-hook stops it when the JVM
+     * shuts down. It cannot be shut down otherwise, as that would stop the reloads of every reloader using it.
+     *
+     * @return the shared scheduler
+     */
+    public static ResourceReloadScheduler shared() {
+        return SharedSchedulerHolder.SHARED;
+    }
+
+    /**
+     * Creates a scheduler with its own pool of daemon threads. The scheduler should be stopped with {@link #shutdown()} when it is no
+     * longer needed.
+     *
+     * @param threads the number of threads to use for scheduling reloads
+     * @return a new scheduler
+     */
+    public static ResourceReloadScheduler create(int threads) {
+        return new ResourceReloadScheduler(newScheduledThreadPool(threads), false);
+    }
+
+    /**
+     * Cancelled reloads and load timeouts are removed from the queue right away, rather than when they would have run, as a reloader
+     * cancels the timeout of every load that completes in time.
+     */
+    private static ScheduledThreadPoolExecutor newScheduledThreadPool(int threads) {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(threads, new ResourceReloaderThreadFactory());
+        executor.setRemoveOnCancelPolicy(true);
+
+        return executor;
+    }
+
+    /**
+     * Creates a scheduler that schedules reloads on the given executor service. The lifecycle of the executor service remains the
+     * responsibility of the caller, and {@link #shutdown()} shuts it down.
+     *
+     * @param scheduledExecutorService the executor service to schedule reloads on
+     * @return a scheduler for the executor service
+     */
+    public static ResourceReloadScheduler forExecutorService(ScheduledExecutorService scheduledExecutorService) {
+        return new ResourceReloadScheduler(Objects.requireNonNull(scheduledExecutorService), false);
+    }
+
+    private final ScheduledExecutorService scheduledExecutorService;
+    private final boolean shared;
+
+    private ResourceReloadScheduler(ScheduledExecutorService scheduledExecutorService, boolean shared) {
+        this.scheduledExecutorService = scheduledExecutorService;
+        this.shared = shared;
+    }
+
+    ScheduledFuture<?> schedule(Runnable task, Duration delay) {
+        return this.scheduledExecutorService.schedule(task, delay.toNanos(), NANOSECONDS);
+    }
+
+    /**
+     * Calls the resource loader on the load threads rather than on the calling scheduler thread. Cancelling the returned future
+     * cancels the future returned by the resource loader, or stops the resource loader from being called if it has not been yet.
+     */
+    static <R> CompletableFuture<R> load(Supplier<CompletableFuture<R>> resourceLoader) {
+        CompletableFuture<R> result = new CompletableFuture<>();
+
+        LoadExecutorHolder.LOAD_EXECUTOR.execute(() -> {
+            if (result.isDone()) {
+                return;
+            }
+
+            try {
+                CompletableFuture<R> load = resourceLoader.get();
+
+                result.whenComplete((value, error) -> {
+                    if (result.isCancelled()) {
+                        load.cancel(true);
+                    }
+                });
+
+                load.whenComplete((value, error) -> {
+                    if (error != null) {
+                        result.completeExceptionally(error);
+                    } else {
+                        result.complete(value);
+                    }
+                });
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        });
+
+        return result;
+    }
+
+    /**
+     * @return whether the scheduler has been shut down
+     */
+    public boolean isShutdown() {
+        return this.scheduledExecutorService.isShutdown();
+    }
+
+    /**
+     * Shuts down the scheduler, which stops the reloads of all of the reloaders using it.
+     *
+     * @throws UnsupportedOperationException for the {@link #shared() shared scheduler}, which is only stopped when the JVM shuts down
+     */
+    public void shutdown() {
+        if (this.shared) {
+            throw new UnsupportedOperationException("The shared scheduler is stopped when the JVM shuts down");
+        }
+
+        this.scheduledExecutorService.shutdown();
+    }
+}
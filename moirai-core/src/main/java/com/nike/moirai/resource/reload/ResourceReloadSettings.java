@@ -5,19 +5,117 @@ import java.util.Objects;
 
 /**
  * Settings for reloading a resource.
+ * <p>
+ * By default the resource is reloaded at a fixed frequency. A {@link Builder} can add jitter to the frequency, so that many instances
+ * started at the same time do not load the resource at the same time, and can lengthen the time between reloads after failed loads
+ * and while the resource is unchanged, to reduce the load on the source of the resource.
  */
 public class ResourceReloadSettings {
+    private static final int MAX_BACKOFF_EXPONENT = 30;
 
     private final Duration reloadFrequency;
     private final Duration resourceLoadTimeout;
+    private final double jitter;
+    private final Duration maxFailureBackoff;
+    private final Duration maxUnchangedReloadFrequency;
+
+    /**
+     * Builds {@link ResourceReloadSettings}.
+     */
+    public static class Builder {
+        private final Duration reloadFrequency;
+        private final Duration resourceLoadTimeout;
+        private double jitter = 0.0;
+        private Duration maxFailureBackoff;
+        private Duration maxUnchangedReloadFrequency;
+
+        /**
+         * @param reloadFrequency the duration between calls to load the resource
+         * @param resourceLoadTimeout the duration to wait for loading the resource to return
+         */
+        public Builder(Duration reloadFrequency, Duration resourceLoadTimeout) {
+            this.reloadFrequency = Objects.requireNonNull(reloadFrequency);
+            this.resourceLoadTimeout = Objects.requireNonNull(resourceLoadTimeout);
+            this.maxFailureBackoff = reloadFrequency;
+            this.maxUnchangedReloadFrequency = reloadFrequency;
+        }
+
+        /**
+         * Randomizes each duration between reloads by up to the given fraction of it in either direction. For instance, a jitter of
+         * 0.1 with a reload frequency of one minute waits between 54 and 66 seconds between reloads.
+         *
+         * @param jitter a fraction from 0.0 (the default, no jitter) to 1.0
+         * @return this
+         */
+        public Builder jitter(double jitter) {
+            if (jitter < 0.0 || jitter > 1.0) {
+                throw new IllegalArgumentException("Jitter must be between 0.0 and 1.0, but was " + jitter);
+            }
+
+            this.jitter = jitter;
+            return this;
+        }
+
+        /**
+         * Doubles the duration before the next reload for each consecutive failed or timed out load, up to the given maximum. The
+         * reload frequency is used again after a successful load.
+         *
+         * @param maxFailureBackoff the longest duration to wait before reloading after failures; at least the reload frequency
+         * @return this
+         */
+        public Builder failureBackoff(Duration maxFailureBackoff) {
+            this.maxFailureBackoff = atLeastReloadFrequency(maxFailureBackoff, "maxFailureBackoff");
+            return this;
+        }
+
+        /**
+         * Doubles the duration before the next reload for each consecutive load of a resource equal to the current one, up to the
+         * given maximum. The reload frequency is used again after the resource changes.
+         *
+         * @param maxUnchangedReloadFrequency the longest duration between reloads of an unchanged resource; at least the reload frequency
+         * @return this
+         */
+        public Builder unchangedBackoff(Duration maxUnchangedReloadFrequency) {
+            this.maxUnchangedReloadFrequency = atLeastReloadFrequency(maxUnchangedReloadFrequency, "maxUnchangedReloadFrequency");
+            return this;
+        }
+
+        /**
+         * @return new settings
+         */
+        public ResourceReloadSettings build() {
+            return new ResourceReloadSettings(reloadFrequency, resourceLoadTimeout, jitter, maxFailureBackoff, maxUnchangedReloadFrequency);
+        }
+
+        private Duration atLeastReloadFrequency(Duration duration, String name) {
+            if (duration.compareTo(reloadFrequency) < 0) {
+                throw new IllegalArgumentException(String.format("%s must be at least the reload frequency %s, but was %s", name, reloadFrequency, duration));
+            }
+
+            return duration;
+        }
+    }
 
     /**
      * @param reloadFrequency the duration between calls to load the resource
      * @param resourceLoadTimeout the duration to wait for loading the resource to return
      */
     public ResourceReloadSettings(Duration reloadFrequency, Duration resourceLoadTimeout) {
+        this(reloadFrequency, resourceLoadTimeout, 0.0, reloadFrequency, reloadFrequency);
+    }
+
+    private ResourceReloadSettings(
+        Duration reloadFrequency,
+        Duration resourceLoadTimeout,
+        double jitter,
+        Duration maxFailureBackoff,
+        Duration maxUnchangedReloadFrequency) {
+
         this.reloadFrequency = reloadFrequency;
         this.resourceLoadTimeout = resourceLoadTimeout;
+        this.jitter = jitter;
+        this.maxFailureBackoff = maxFailureBackoff;
+        this.maxUnchangedReloadFrequency = maxUnchangedReloadFrequency;
     }
 
     /**
@@ -34,6 +132,50 @@ public class ResourceReloadSettings {
         return resourceLoadTimeout;
     }
 
+    /**
+     * @return the fraction by which the duration between reloads is randomized
+     */
+    public double getJitter() {
+        return jitter;
+    }
+
+    /**
+     * @return the longest duration to wait before reloading after consecutive failures
+     */
+    public Duration getMaxFailureBackoff() {
+        return maxFailureBackoff;
+    }
+
+    /**
+     * @return the longest duration to wait between reloads of an unchanged resource
+     */
+    public Duration getMaxUnchangedReloadFrequency() {
+        return maxUnchangedReloadFrequency;
+    }
+
+    /**
+     * Computes the duration to wait before the next reload.
+     *
+     * @param consecutiveFailures the number of loads that failed since the last successful load
+     * @param consecutiveUnchangedLoads the number of successful loads that did not change the resource since it last changed
+     * @param random a random value from 0.0 (inclusive) to 1.0 (exclusive) for the jitter
+     * @return the duration to wait before the next reload
+     */
+    Duration reloadDelay(int consecutiveFailures, int consecutiveUnchangedLoads, double random) {
+        double delayNanos = consecutiveFailures > 0 ?
+            backoffNanos(consecutiveFailures, maxFailureBackoff) :
+            backoffNanos(consecutiveUnchangedLoads, maxUnchangedReloadFrequency);
+
+        delayNanos *= 1.0 + jitter * (2.0 * random - 1.0);
+
+        return Duration.ofNanos((long) delayNanos);
+    }
+
+    private double backoffNanos(int consecutiveLoads, Duration max) {
+        double nanos = reloadFrequency.toNanos() * Math.pow(2, Math.min(consecutiveLoads, MAX_BACKOFF_EXPONENT));
+        return Math.min(nanos, max.toNanos());
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -45,13 +187,16 @@ public class ResourceReloadSettings {
         }
 
         ResourceReloadSettings that = (ResourceReloadSettings) o;
-        return Objects.equals(reloadFrequency, that.reloadFrequency) &&
-            Objects.equals(resourceLoadTimeout, that.resourceLoadTimeout);
+        return Double.compare(jitter, that.jitter) == 0 &&
+            Objects.equals(reloadFrequency, that.reloadFrequency) &&
+            Objects.equals(resourceLoadTimeout, that.resourceLoadTimeout) &&
+            Objects.equals(maxFailureBackoff, that.maxFailureBackoff) &&
+            Objects.equals(maxUnchangedReloadFrequency, that.maxUnchangedReloadFrequency);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(reloadFrequency, resourceLoadTimeout);
+        return Objects.hash(reloadFrequency, resourceLoadTimeout, jitter, maxFailureBackoff, maxUnchangedReloadFrequency);
     }
 
     @Override
@@ -59,6 +204,9 @@ public class ResourceReloadSettings {
         return "ResourceReloadSettings{" +
             "reloadFrequency=" + reloadFrequency +
             ", resourceLoadTimeout=" + resourceLoadTimeout +
+            ", jitter=" + jitter +
+            ", maxFailureBackoff=" + maxFailureBackoff +
+            ", maxUnchangedReloadFrequency=" + maxUnchangedReloadFrequency +
             '}';
     }
 }
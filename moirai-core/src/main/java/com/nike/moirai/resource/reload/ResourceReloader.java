@@ -4,48 +4,38 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
+import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 
 import static java.time.temporal.ChronoUnit.MINUTES;
 import static java.time.temporal.ChronoUnit.SECONDS;
-import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 /**
  * Given a supplier of some object, transparently reloads and replaces that object in the background.
  *
- * Uses a {@link ScheduledExecutorService} to periodically reload the resource. Uses a timeout for the calls for loading the resource.
- * Schedules the next reload after getting the success, failure, or timeout result for loading a resource, so there should not be overlapping resource requests
- * happening at the same time.
+ * Uses a {@link ResourceReloadScheduler} to periodically reload the resource, which is shared with other reloaders unless one is
+ * provided. Calls the resource loader off the scheduler threads, and uses a timeout for loading the resource, without blocking a scheduler thread while waiting for the result.
+ * Schedules the next reload after getting the success, failure, or timeout result for loading a resource, and does not start a load while another is in
+ * progress, so there are no overlapping resource requests. A load that times out is cancelled, and its result is ignored if it completes anyway. The duration until the next reload is computed by the {@link ResourceReloadSettings}, based on whether the last loads failed
+ * or loaded a resource equal to the current one.
  *
  * @param <R> the type of object returned by the resource loader to provide and reload
  */
 public class ResourceReloader<R> {
-    private static final class ResourceReloaderThreadFactory implements ThreadFactory {
-        private final ThreadFactory delegate = Executors.defaultThreadFactory();
-
-        @Override
-        public Thread newThread(Runnable r) {
-            Thread thread = delegate.newThread(r);
-            thread.setDaemon(true);
-            thread.setName("ReloadableResourceMoiraiThread-" + thread.getName());
-
-            return thread;
-        }
-    }
-
     private static final Logger LOGGER = LoggerFactory.getLogger(ResourceReloader.class);
 
     /**
      * Given an asynchronous supplier of some resource and an initial value, will reload the resource once per minute. Each resource load attempt should
-     * complete in less than 30 seconds, otherwise a new attempt to load the resource will be scheduled. The reloading schedule will be started immediately, and
-     * a shutdown-hook is added to stop the executor service.
+     * complete in less than 30 seconds, otherwise a new attempt to load the resource will be scheduled. The reloading schedule will be started immediately on the
+     * {@link ResourceReloadScheduler#shared() shared scheduler}, which is stopped when the JVM shuts down.
      *
      * @param resourceLoader supplier that will be called for each attempt to load the resource
      * @param initialValue an initial value to use before the first successful reload of the resource
@@ -60,13 +50,15 @@ public class ResourceReloader<R> {
             resourceLoader,
             initialValue,
             new ResourceReloadSettings(Duration.of(1, MINUTES), Duration.of(30, SECONDS)),
+            ResourceReloadScheduler.shared(),
             true);
     }
 
     /**
      * Given an asynchronous supplier of some resource and an initial value, will reload the resource based on the given ResourceReloadSettings.
      * Each resource load attempt should complete in the provided timeout specified by the ResourceReloadSettings, otherwise a new attempt to load the resource
-     * will be scheduled. The reloading schedule will be started immediately, and a shutdown-hook is added to stop the executor service.
+     * will be scheduled. The reloading schedule will be started immediately on the {@link ResourceReloadScheduler#shared() shared scheduler}, which is stopped
+     * when the JVM shuts down.
      *
      * @param resourceLoader supplier that will be called for each attempt to load the resource
      * @param initialValue an initial value to use before the first successful reload of the resource
@@ -83,13 +75,15 @@ public class ResourceReloader<R> {
             resourceLoader,
             initialValue,
             resourceReloadSettings,
+            ResourceReloadScheduler.shared(),
             true);
     }
 
     /**
      * Given an asynchronous supplier of some resource and an initial value, will reload the resource based on the given ResourceReloadSettings.
      * Each resource load attempt should complete in the provided timeout specified by the ResourceReloadSettings, otherwise a new attempt to load the resource
-     * will be scheduled. The reloading process will be started when {@link #init()} is called, and stopped when {@link #shutdown()} is called.
+     * will be scheduled. The reloading process will be started on the {@link ResourceReloadScheduler#shared() shared scheduler} when {@link #init()} is
+     * called, and stopped when {@link #shutdown()} is called.
      *
      * @param resourceLoader supplier that will be called for each attempt to load the resource
      * @param initialValue an initial value to use before the first successful reload of the resource
@@ -106,57 +100,191 @@ public class ResourceReloader<R> {
             resourceLoader,
             initialValue,
             resourceReloadSettings,
+            ResourceReloadScheduler.shared(),
             false);
     }
 
+    /**
+     * Given an asynchronous supplier of some resource and an initial value, will reload the resource based on the given ResourceReloadSettings using the
+     * given scheduler. Each resource load attempt should complete in the provided timeout specified by the ResourceReloadSettings, otherwise a new attempt to
+     * load the resource will be scheduled. The reloading schedule will be started immediately, and stopped when {@link #shutdown()} is called or when the
+     * scheduler is shut down.
+     *
+     * @param resourceLoader supplier that will be called for each attempt to load the resource
+     * @param initialValue an initial value to use before the first successful reload of the resource
+     * @param resourceReloadSettings custom settings for how to reload the resource
+     * @param resourceReloadScheduler the scheduler to schedule the reloads on
+     * @param <R> the type of resource
+     * @return a resource reloader
+     */
+    public static <R> ResourceReloader<R> withCustomSettingsAndScheduler(
+        Supplier<CompletableFuture<R>> resourceLoader,
+        R initialValue,
+        ResourceReloadSettings resourceReloadSettings,
+        ResourceReloadScheduler resourceReloadScheduler) {
+
+        return new ResourceReloader<>(
+            resourceLoader,
+            initialValue,
+            resourceReloadSettings,
+            resourceReloadScheduler,
+            true);
+    }
+
     private final Supplier<CompletableFuture<R>> resourceLoader;
 
     private final AtomicReference<R> valueReference;
-    private final ScheduledExecutorService scheduledExecutorService = Executors.newScheduledThreadPool(1, new ResourceReloaderThreadFactory());
     private final ResourceReloadSettings resourceReloadSettings;
+    private final ResourceReloadScheduler resourceReloadScheduler;
+
+    private volatile boolean shutdown = false;
+
+    // Guards scheduling, so that starting a load, finishing a load and reloadNow agree on which of them schedules the next reload,
+    // and there is only ever one reload scheduled
+    private final Object scheduleLock = new Object();
+
+    // Guarded by scheduleLock
+    private ScheduledFuture<?> scheduledReload;
+
+    // Incremented whenever a reload is scheduled, so that a reload that was replaced does nothing even if it had already started
+    // when it was cancelled. Guarded by scheduleLock
+    private long scheduledGeneration = 0;
+
+    // Set while a load is in progress, so that there is at most one load of the resource at a time
+    private final AtomicReference<CompletableFuture<R>> inFlightLoad = new AtomicReference<>();
+
+    // Set when a reload is requested while a load is in progress, so that the resource is reloaded again right after it.
+    // Guarded by scheduleLock
+    private boolean reloadRequested = false;
+
+    private final AtomicLong failedLoadCount = new AtomicLong();
+    private final AtomicLong abandonedLoadCount = new AtomicLong();
+
+    // Only updated by the load that is in progress, and each load is scheduled by the previous one
+    private int consecutiveFailures = 0;
+    private int consecutiveUnchangedLoads = 0;
 
     private ResourceReloader(
         Supplier<CompletableFuture<R>> resourceLoader,
         R initialValue,
         ResourceReloadSettings resourceReloadSettings,
-        boolean managedLifecycle) {
+        ResourceReloadScheduler resourceReloadScheduler,
+        boolean startImmediately) {
 
         this.resourceLoader = resourceLoader;
         this.valueReference = new AtomicReference<R>(initialValue);
         this.resourceReloadSettings = resourceReloadSettings;
+        this.resourceReloadScheduler = resourceReloadScheduler;
 
-        if (managedLifecycle) {
-            Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown));
+        if (startImmediately) {
             init();
         }
     }
 
-    private Runnable reload() {
-        return () -> {
-            R originalValue = this.valueReference.get();
+    private void reload(long generation) {
+        CompletableFuture<R> resource;
+
+        synchronized (this.scheduleLock) {
+            if (this.shutdown || generation != this.scheduledGeneration) {
+                return;
+            }
+
+            if (this.inFlightLoad.get() != null) {
+                this.reloadRequested = true;
+                return;
+            }
 
-            CompletableFuture<R> resource = this.resourceLoader.get();
+            resource = ResourceReloadScheduler.load(this.resourceLoader);
+            this.inFlightLoad.set(resource);
+        }
+
+        R originalValue = this.valueReference.get();
 
-            try {
-                R value = resource.get(this.resourceReloadSettings.getResourceLoadTimeout().toMillis(), MILLISECONDS);
+        // Whichever of the result or the timeout comes first decides the outcome of this load
+        AtomicBoolean loadCompleted = new AtomicBoolean(false);
+        Duration resourceLoadTimeout = this.resourceReloadSettings.getResourceLoadTimeout();
 
-                // Only update if the original value has not changed, otherwise a cancellation or timeout may have occurred
-                boolean updated = this.valueReference.compareAndSet(originalValue, value);
-                if (updated) {
-                    scheduleReload();
+        ScheduledFuture<?> timeout;
+        try {
+            timeout = this.resourceReloadScheduler.schedule(() -> {
+                if (loadCompleted.compareAndSet(false, true)) {
+                    LOGGER.error("Error loading resource", new TimeoutException("Resource load did not complete within " + resourceLoadTimeout));
+                    this.abandonedLoadCount.incrementAndGet();
+                    resource.cancel(true);
+                    this.consecutiveFailures++;
+                    finishLoad();
                 }
-            } catch (ExecutionException | TimeoutException e) {
-                LOGGER.error("Error loading resource", e);
-                scheduleReload();
-            } catch (InterruptedException e) {
-                // Interrupt thread and do not schedule a new reload
-                Thread.currentThread().interrupt();
+            }, resourceLoadTimeout);
+        } catch (RejectedExecutionException e) {
+            LOGGER.warn("Unable to schedule the timeout of the resource load, as the scheduler has been shut down; it will no longer be reloaded", e);
+            resource.cancel(true);
+            finishLoad();
+            return;
+        }
+
+        resource.whenComplete((value, error) -> {
+            if (!loadCompleted.compareAndSet(false, true)) {
+                return;
+            }
+
+            timeout.cancel(false);
+
+            if (this.shutdown) {
+                // Cancelled by shutdown, which is not a failure of the resource
+                this.inFlightLoad.set(null);
+                return;
             }
-        };
+
+            if (error != null) {
+                LOGGER.error("Error loading resource", error);
+                this.failedLoadCount.incrementAndGet();
+                this.consecutiveFailures++;
+                finishLoad();
+                return;
+            }
+
+            this.consecutiveFailures = 0;
+            this.consecutiveUnchangedLoads = Objects.equals(originalValue, value) ? this.consecutiveUnchangedLoads + 1 : 0;
+
+            this.valueReference.set(value);
+            finishLoad();
+        });
     }
 
+    /**
+     * Ends the load in progress and schedules the next reload together, so that {@link #reloadNow()} either sees the load in
+     * progress or the newly scheduled reload, never neither.
+     */
+    private void finishLoad() {
+        synchronized (this.scheduleLock) {
+            this.inFlightLoad.set(null);
+            scheduleReload();
+        }
+    }
+
+    // Must be called holding scheduleLock
     private void scheduleReload() {
-        this.scheduledExecutorService.schedule(reload(), this.resourceReloadSettings.getReloadFrequency().toMillis(), MILLISECONDS);
+        if (this.shutdown) {
+            return;
+        }
+
+        boolean immediately = this.reloadRequested;
+        this.reloadRequested = false;
+
+        Duration delay = immediately ?
+            Duration.ZERO :
+            this.resourceReloadSettings.reloadDelay(
+                this.consecutiveFailures,
+                this.consecutiveUnchangedLoads,
+                ThreadLocalRandom.current().nextDouble());
+
+        long generation = ++this.scheduledGeneration;
+
+        try {
+            this.scheduledReload = this.resourceReloadScheduler.schedule(() -> reload(generation), delay);
+        } catch (RejectedExecutionException e) {
+            LOGGER.warn("Unable to schedule the next reload of the resource, as the scheduler has been shut down; it will no longer be reloaded", e);
+        }
     }
 
     /**
@@ -170,13 +298,72 @@ public class ResourceReloader<R> {
      * Starts schedule the reload
      */
     public void init() {
-        scheduleReload();
+        synchronized (this.scheduleLock) {
+            // Reloads are already scheduled if the reloader was started, or reloadNow was called before it was
+            if (this.scheduledReload == null && this.inFlightLoad.get() == null) {
+                scheduleReload();
+            }
+        }
     }
 
     /**
-     * Shuts down the executor service
+     * Reloads the resource as soon as possible instead of at the next scheduled reload, for instance when it is known that the
+     * resource has changed. If a load is already in progress, the resource is reloaded again once it completes. The reloads after
+     * that are scheduled as usual.
+     *
+     * @see FileChangeWatcher
+     */
+    public void reloadNow() {
+        synchronized (this.scheduleLock) {
+            if (this.shutdown) {
+                return;
+            }
+
+            if (this.inFlightLoad.get() != null) {
+                this.reloadRequested = true;
+                return;
+            }
+
+            // Replaces the scheduled reload, which does nothing if it has already started but not yet taken the lock
+            if (this.scheduledReload != null) {
+                this.scheduledReload.cancel(false);
+            }
+
+            this.reloadRequested = true;
+            scheduleReload();
+        }
+    }
+
+    /**
+     * @return the number of resource loads that failed, not including loads that timed out
+     */
+    public long getFailedLoadCount() {
+        return this.failedLoadCount.get();
+    }
+
+    /**
+     * @return the number of resource loads that did not complete within the resource load timeout, and were cancelled
+     */
+    public long getAbandonedLoadCount() {
+        return this.abandonedLoadCount.get();
+    }
+
+    /**
+     * Stops reloading the resource, and cancels a load that is in progress. The scheduler is not shut down, as it may be used by
+     * other reloaders.
      */
     public void shutdown() {
-        this.scheduledExecutorService.shutdown();
+        synchronized (this.scheduleLock) {
+            this.shutdown = true;
+
+            if (this.scheduledReload != null) {
+                this.scheduledReload.cancel(false);
+            }
+        }
+
+        CompletableFuture<R> load = this.inFlightLoad.get();
+        if (load != null) {
+            load.cancel(true);
+        }
     }
 }
@@ -0,0 +1,154 @@
+package com.nike.moirai.resource.reload;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A resource loader for a {@link ResourceReloader} that fetches a raw resource, and only transforms it when its content has changed.
+ * <p>
+ * Each load fetches the raw resource and computes a fingerprint of it. If the fingerprint is the same as for the last transformed
+ * resource, the previously transformed value is supplied again without transforming the raw resource. Otherwise the raw resource
+ * is transformed, for instance by parsing it and compiling it into an index for deciding on features, and the new value is supplied
+ * for the ResourceReloader to publish. An unchanged resource only costs fetching it and computing its fingerprint, and
+ * {@link ResourceReloader#getValue()} keeps returning the same instance until the resource changes, so values derived from that
+ * instance with {@link com.nike.moirai.Suppliers#memoizedSupplierAndThen} are kept as well.
+ * <p>
+ * If the transformation fails, the load fails and the last transformed value is kept for the next load to compare with.
+ *
+ * @param <T> the type of the raw resource
+ * @param <R> the type of the transformed resource
+ */
+public class StagedResourceLoader<T, R> implements Supplier<CompletableFuture<R>> {
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    private static final class Staged<R> {
+        private final Object fingerprint;
+        private final R value;
+
+        private Staged(Object fingerprint, R value) {
+            this.fingerprint = fingerprint;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Loads strings, fingerprinting them with a SHA-256 digest of their UTF-8 encoding.
+     *
+     * @param rawLoader supplier that will be called to fetch the raw resource for each load
+     * @param transformation the transformation of a changed resource
+     * @param <R> the type of the transformed resource
+     * @return a loader that only transforms the resource when it has changed
+     */
+    public static <R> StagedResourceLoader<String, R> forStrings(Supplier<CompletableFuture<String>> rawLoader, Function<String, R> transformation) {
+        return new StagedResourceLoader<>(rawLoader, raw -> digest(raw.getBytes(StandardCharsets.UTF_8)), transformation);
+    }
+
+    /**
+     * Loads byte arrays, fingerprinting them with a SHA-256 digest.
+     *
+     * @param rawLoader supplier that will be called to fetch the raw resource for each load
+     * @param transformation the transformation of a changed resource
+     * @param <R> the type of the transformed resource
+     * @return a loader that only transforms the resource when it has changed
+     */
+    public static <R> StagedResourceLoader<byte[], R> forBytes(Supplier<CompletableFuture<byte[]>> rawLoader, Function<byte[], R> transformation) {
+        return new StagedResourceLoader<>(rawLoader, StagedResourceLoader::digest, transformation);
+    }
+
+    /**
+     * Loads byte buffers, such as the ones supplied by {@link com.nike.moirai.resource.FileResourceLoaders#forFileBytes(java.io.File)},
+     * fingerprinting their remaining bytes with a SHA-256 digest.
+     *
+     * @param rawLoader supplier that will be called to fetch the raw resource for each load
+     * @param transformation the transformation of a changed resource
+     * @param <R> the type of the transformed resource
+     * @return a loader that only transforms the resource when it has changed
+     */
+    public static <R> StagedResourceLoader<ByteBuffer, R> forByteBuffers(Supplier<CompletableFuture<ByteBuffer>> rawLoader, Function<ByteBuffer, R> transformation) {
+        return new StagedResourceLoader<>(rawLoader, StagedResourceLoader::digest, transformation);
+    }
+
+    /**
+     * Loads raw resources, fingerprinting them with the given function. Two raw resources are considered the same if their
+     * fingerprints are equal. For instance, the fingerprint could be a version or an ETag that is fetched along with the resource.
+     *
+     * @param rawLoader supplier that will be called to fetch the raw resource for each load
+     * @param fingerprint the function to compute the fingerprint of a raw resource
+     * @param transformation the transformation of a changed resource
+     * @param <T> the type of the raw resource
+     * @param <R> the type of the transformed resource
+     * @return a loader that only transforms the resource when it has changed
+     */
+    public static <T, R> StagedResourceLoader<T, R> withFingerprint(
+        Supplier<CompletableFuture<T>> rawLoader,
+        Function<? super T, ?> fingerprint,
+        Function<? super T, R> transformation) {
+
+        return new StagedResourceLoader<>(rawLoader, fingerprint, transformation);
+    }
+
+    private final Supplier<CompletableFuture<T>> rawLoader;
+    private final Function<? super T, ?> fingerprint;
+    private final Function<? super T, R> transformation;
+
+    private volatile Staged<R> staged;
+
+    private StagedResourceLoader(
+        Supplier<CompletableFuture<T>> rawLoader,
+        Function<? super T, ?> fingerprint,
+        Function<? super T, R> transformation) {
+
+        this.rawLoader = Objects.requireNonNull(rawLoader);
+        this.fingerprint = Objects.requireNonNull(fingerprint);
+        this.transformation = Objects.requireNonNull(transformation);
+    }
+
+    /**
+     * Fetches the raw resource, and transforms it if it has changed since the last transformed resource.
+     *
+     * @return a future of the transformed resource; the previously transformed value if the resource has not changed
+     */
+    @Override
+    public CompletableFuture<R> get() {
+        return this.rawLoader.get().thenApply(this::stage);
+    }
+
+    private synchronized R stage(T raw) {
+        Object rawFingerprint = this.fingerprint.apply(raw);
+        Staged<R> current = this.staged;
+
+        if (current != null && Objects.equals(current.fingerprint, rawFingerprint)) {
+            return current.value;
+        }
+
+        R value = this.transformation.apply(raw);
+        this.staged = new Staged<>(rawFingerprint, value);
+
+        return value;
+    }
+
+    private static ByteBuffer digest(byte[] bytes) {
+        return ByteBuffer.wrap(messageDigest().digest(bytes));
+    }
+
+    private static ByteBuffer digest(ByteBuffer bytes) {
+        MessageDigest messageDigest = messageDigest();
+        messageDigest.update(bytes.duplicate());
+
+        return ByteBuffer.wrap(messageDigest.digest());
+    }
+
+    private static MessageDigest messageDigest() {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(DIGEST_ALGORITHM + " is not available", e);
+        }
+    }
+}
@@ -1,8 +1,12 @@
 package com.nike.moirai
 
+import java.lang.management.ManagementFactory
 import java.time.Duration
 import java.time.temporal.ChronoUnit.MILLIS
+import java.util
+import java.util.Optional
 
+import com.nike.moirai.config.{EnabledUsersConfigDecider, FeatureEnabledConfigDecider, ProportionBucketing, ProportionOfUsersConfigDecider}
 import com.nike.moirai.resource.reload.{ResourceReloadSettings, ResourceReloader}
 import org.scalatest.{FunSpec, Matchers}
 
@@ -26,6 +30,106 @@ class ConfigFeatureFlagCheckerSpec extends FunSpec with Matchers {
     }
   }
 
+  describe("checker checking many features") {
+    val config = Map(
+      "feature1" -> true,
+      "feature2" -> false,
+      "feature3" -> true
+    )
+
+    var configReads = 0
+
+    val configFeatureFlagChecker = ConfigFeatureFlagChecker.forConfigSupplier[Map[String, Boolean]](
+      () => {
+        configReads += 1
+        config
+      },
+      (configDecisionInput) => configDecisionInput.getConfig.getOrElse(configDecisionInput.getFeatureIdentifier, false)
+    )
+
+    it("should return the enabled features in a BitSet") {
+      val enabled = configFeatureFlagChecker.enabledFeatures(util.Arrays.asList("feature1", "feature2", "feature3", "feature4"), FeatureCheckInput.forUser("a"))
+      enabled.get(0) shouldBe true
+      enabled.get(1) shouldBe false
+      enabled.get(2) shouldBe true
+      enabled.get(3) shouldBe false
+    }
+
+    it("should read the config once for all of the features") {
+      configReads = 0
+      configFeatureFlagChecker.enabledFeatures(util.Arrays.asList("feature1", "feature2", "feature3"))
+      configReads shouldBe 1
+    }
+  }
+
+  describe("checker checking many users") {
+    var configReads = 0
+    var enabledUsersReads = 0
+
+    val configFeatureFlagChecker = ConfigFeatureFlagChecker.forConfigSupplier[Map[String, Set[String]]](
+      () => {
+        configReads += 1
+        Map("feature1" -> Set("a", "c"))
+      },
+      new EnabledUsersConfigDecider[Map[String, Set[String]]] {
+        override protected def enabledUsers(config: Map[String, Set[String]], featureIdentifier: String): util.Collection[String] = {
+          enabledUsersReads += 1
+          util.Arrays.asList(config.getOrElse(featureIdentifier, Set.empty[String]).toSeq: _*)
+        }
+      }
+    )
+
+    it("should return the enabled users") {
+      configFeatureFlagChecker.enabledUsers("feature1", util.stream.Stream.of("a", "b", "c", "d")).toArray shouldBe Array("a", "c")
+      configFeatureFlagChecker.enabledUsers("feature2", util.stream.Stream.of("a", "b", "c", "d")).count() shouldBe 0
+    }
+
+    it("should return the enabled users from a parallel stream") {
+      val userIds = (1 to 10000).map(_.toString) :+ "a"
+      configFeatureFlagChecker.enabledUsers("feature1", util.Arrays.stream(userIds.toArray).parallel()).toArray shouldBe Array("a")
+    }
+
+    it("should read the config and the enabled users once for all of the users") {
+      configReads = 0
+      enabledUsersReads = 0
+      configFeatureFlagChecker.enabledUsers("feature1", util.stream.Stream.of("a", "b", "c", "d")).count()
+      configReads shouldBe 1
+      enabledUsersReads shouldBe 1
+    }
+  }
+
+  describe("snapshot of a checker") {
+    var configReads = 0
+    var config = Map("feature1" -> true)
+
+    val configFeatureFlagChecker = ConfigFeatureFlagChecker.forConfigSupplier[Map[String, Boolean]](
+      () => {
+        configReads += 1
+        config
+      },
+      (configDecisionInput) => configDecisionInput.getConfig.getOrElse(configDecisionInput.getFeatureIdentifier, false)
+    )
+
+    it("should read the config once for all of its checks") {
+      configReads = 0
+      val snapshot = configFeatureFlagChecker.snapshot()
+      snapshot.isFeatureEnabled("feature1") shouldBe true
+      snapshot.isFeatureEnabled("feature2", FeatureCheckInput.forUser("a")) shouldBe false
+      snapshot.enabledFeatures(util.Arrays.asList("feature1", "feature2")).cardinality() shouldBe 1
+      configReads shouldBe 1
+    }
+
+    it("should keep deciding with the config from when it was taken") {
+      config = Map("feature1" -> true)
+      val snapshot = configFeatureFlagChecker.snapshot()
+      config = Map("feature1" -> false)
+
+      snapshot.isFeatureEnabled("feature1") shouldBe true
+      configFeatureFlagChecker.isFeatureEnabled("feature1") shouldBe false
+      configFeatureFlagChecker.snapshot().isFeatureEnabled("feature1") shouldBe false
+    }
+  }
+
   describe("checker for resource reloader") {
     val initialConfig = Map(
       "feature1" -> true
@@ -62,4 +166,107 @@ class ConfigFeatureFlagCheckerSpec extends FunSpec with Matchers {
       configFeatureFlagChecker.isFeatureEnabled("feature2", FeatureCheckInput.forUser("a")) shouldBe true
     }
   }
+
+  describe("checker for built-in deciders") {
+    val enabledUsers = new util.HashMap[String, util.Set[String]]()
+    enabledUsers.put("feature1", new util.HashSet(util.Arrays.asList("a", "b")))
+
+    val enabled = Optional.of(java.lang.Boolean.TRUE)
+
+    val configFeatureFlagChecker = ConfigFeatureFlagChecker.forConfigSupplier[util.Map[String, util.Set[String]]](
+      () => enabledUsers,
+      new EnabledUsersConfigDecider[util.Map[String, util.Set[String]]] {
+        override protected def enabledUsers(config: util.Map[String, util.Set[String]], featureIdentifier: String): util.Collection[String] =
+          config.getOrDefault(featureIdentifier, util.Collections.emptySet())
+      }.or(new FeatureEnabledConfigDecider[util.Map[String, util.Set[String]]] {
+        override protected def featureEnabled(config: util.Map[String, util.Set[String]], featureIdentifier: String): Optional[java.lang.Boolean] =
+          if (featureIdentifier == "feature2") enabled else Optional.empty()
+      })
+    )
+
+    val input = FeatureCheckInput.forUser("a")
+
+    def check(times: Int): Int = {
+      var enabledCount = 0
+      var i = 0
+      while (i < times) {
+        if (configFeatureFlagChecker.isFeatureEnabled("feature1", input)) enabledCount += 1
+        if (configFeatureFlagChecker.isFeatureEnabled("feature2")) enabledCount += 1
+        if (configFeatureFlagChecker.isFeatureEnabled("feature3", input)) enabledCount += 1
+        i += 1
+      }
+      enabledCount
+    }
+
+    it("should decide using the combined deciders") {
+      check(1) shouldBe 2
+    }
+
+    it("should not allocate per check") {
+      val threadMXBean = ManagementFactory.getThreadMXBean.asInstanceOf[com.sun.management.ThreadMXBean]
+      val threadId = Thread.currentThread().getId
+
+      check(100000)
+
+      val allocatedBefore = threadMXBean.getThreadAllocatedBytes(threadId)
+      val enabledCount = check(100000)
+      val allocated = threadMXBean.getThreadAllocatedBytes(threadId) - allocatedBefore
+
+      enabledCount shouldBe 200000
+      allocated should be < 100000L
+    }
+  }
+
+  Seq(ProportionBucketing.HASH_CODE, ProportionBucketing.MURMUR3).foreach { bucketing =>
+    describe(s"checker for a proportion of users decider with $bucketing bucketing") {
+      type Proportions = util.Map[String, Optional[java.lang.Double]]
+
+      val proportions: Proportions = new util.HashMap[String, Optional[java.lang.Double]]()
+      proportions.put("feature1", Optional.of(java.lang.Double.valueOf(1.0)))
+      proportions.put("feature2", Optional.of(java.lang.Double.valueOf(0.0)))
+
+      val configFeatureFlagChecker = ConfigFeatureFlagChecker.forConfigSupplier[Proportions](
+        () => proportions,
+        new ProportionOfUsersConfigDecider[Proportions](bucketing) {
+          override protected def enabledProportion(config: Proportions, featureIdentifier: String): Optional[java.lang.Double] =
+            config.getOrDefault(featureIdentifier, Optional.empty())
+
+          override protected def featureGroup(config: Proportions, featureIdentifier: String): Optional[String] =
+            Optional.empty()
+        }
+      )
+
+      val input = FeatureCheckInput.forUser("a")
+
+      def check(times: Int): Int = {
+        var enabledCount = 0
+        var i = 0
+        while (i < times) {
+          if (configFeatureFlagChecker.isFeatureEnabled("feature1", input)) enabledCount += 1
+          if (configFeatureFlagChecker.isFeatureEnabled("feature2", input)) enabledCount += 1
+          if (configFeatureFlagChecker.isFeatureEnabled("feature3", input)) enabledCount += 1
+          i += 1
+        }
+        enabledCount
+      }
+
+      it("should decide using the proportions") {
+        check(1) shouldBe 1
+      }
+
+      it("should not allocate per check") {
+        val threadMXBean = ManagementFactory.getThreadMXBean.asInstanceOf[com.sun.management.ThreadMXBean]
+        val threadId = Thread.currentThread().getId
+
+        check(100000)
+
+        val allocatedBefore = threadMXBean.getThreadAllocatedBytes(threadId)
+        val enabledCount = check(100000)
+        val allocated = threadMXBean.getThreadAllocatedBytes(threadId) - allocatedBefore
+
+        enabledCount shouldBe 100000
+        allocated should be < 100000L
+      }
+    }
+  }
 }
@@ -0,0 +1,73 @@
+package com.nike.moirai
+
+import org.scalatest.{FunSpec, Matchers}
+
+class DimensionSpec extends FunSpec with Matchers {
+  describe("Dimension") {
+    it("should return the same handle for the same key") {
+      Dimension.named("dimension.country") should be theSameInstanceAs Dimension.named(new String("dimension.country"))
+    }
+
+    it("should give each key its own slot") {
+      Dimension.named("dimension.device").slot() should not equal Dimension.named("dimension.platform").slot()
+    }
+
+    it("should provide its key") {
+      Dimension.named("dimension.country").getKey shouldBe "dimension.country"
+    }
+
+    it("should not give the built-in keys a slot") {
+      Dimension.named("USER_ID").isBuiltIn shouldBe true
+      Dimension.named("dimension.country").isBuiltIn shouldBe false
+    }
+
+    it("should be read from inputs built with either the handle or the key") {
+      val country = Dimension.named("dimension.country")
+
+      val byHandle = new FeatureCheckInput.Builder().dimension(country, "US").build()
+      val byKey = new FeatureCheckInput.Builder().dimension("dimension.country", "US").build()
+
+      byHandle shouldEqual byKey
+      byHandle.getDimension(country).get() shouldBe "US"
+      byHandle.getDimension("dimension.country").get() shouldBe "US"
+      byKey.getDimension(country).get() shouldBe "US"
+    }
+
+    it("should not be usable to add a built-in dimension") {
+      an[IllegalArgumentException] should be thrownBy new FeatureCheckInput.Builder().dimension(Dimension.named("DATE_TIME"), java.time.Instant.now())
+    }
+
+    it("should read a built-in dimension from an input") {
+      FeatureCheckInput.forUser("8675309").getDimension(Dimension.named("USER_ID")).get() shouldBe "8675309"
+    }
+
+    it("should not register keys of dimensions added by their key") {
+      val input = new FeatureCheckInput.Builder().dimension("dimension.by.key", "US").build()
+
+      input.withAdditionalDimension("dimension.by.key.too", "mobile").getDimension("dimension.by.key.too").get() shouldBe "mobile"
+      input.getDimension("dimension.by.key").get() shouldBe "US"
+      Dimension.find("dimension.by.key") shouldBe null
+      Dimension.find("dimension.by.key.too") shouldBe null
+    }
+
+    it("should be read from an input built with its key before it was registered") {
+      val byKey = new FeatureCheckInput.Builder().dimension("dimension.registered.later", "US").build()
+      val hashCode = byKey.hashCode
+
+      val dimension = Dimension.named("dimension.registered.later")
+      val byHandle = new FeatureCheckInput.Builder().dimension(dimension, "US").build()
+
+      byKey.getDimension(dimension).get() shouldBe "US"
+      byKey shouldEqual byHandle
+      byHandle shouldEqual byKey
+      byKey.hashCode shouldBe hashCode
+      byHandle.hashCode shouldBe hashCode
+      byKey.withAdditionalDimension(dimension, "CA").getDimension("dimension.registered.later").get() shouldBe "CA"
+    }
+
+    it("should not register keys that are only read") {
+      FeatureCheckInput.empty().getDimension("dimension.never.added").isPresent shouldBe false
+      Dimension.find("dimension.never.added") shouldBe null
+    }
+  }
+}
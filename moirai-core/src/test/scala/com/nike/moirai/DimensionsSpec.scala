@@ -0,0 +1,184 @@
+package com.nike.moirai
+
+import org.scalatest.{FunSpec, Matchers}
+
+import scala.collection.JavaConverters._
+
+class DimensionsSpec extends FunSpec with Matchers {
+  def dimensions(entries: (String, Any)*): Dimensions = {
+    val builder = new Dimensions.Builder(Dimensions.EMPTY)
+    entries.foreach { case (key, value) => builder.put(Dimension.named(key), value) }
+    builder.build()
+  }
+
+  def get(d: Dimensions, key: String): Any = d.get(Dimension.named(key))
+
+  describe("Dimensions") {
+    it("should provide the value for each dimension") {
+      val d = dimensions("dimensions.a" -> 1, "dimensions.b" -> "two", "dimensions.c" -> 3.0)
+
+      get(d, "dimensions.a") shouldBe 1
+      get(d, "dimensions.b") shouldBe "two"
+      get(d, "dimensions.c") shouldBe 3.0
+      get(d, "dimensions.unset") shouldBe (null: Any)
+    }
+
+    it("should keep the last value for a dimension added more than once") {
+      val d = dimensions("dimensions.a" -> 1, "dimensions.a" -> 2)
+
+      get(d, "dimensions.a") shouldBe 2
+      d.toMap.asScala shouldBe Map("dimensions.a" -> 2)
+    }
+
+    it("should remove a dimension that is added with a null value") {
+      dimensions("dimensions.a" -> 1, "dimensions.a" -> null) should be theSameInstanceAs Dimensions.EMPTY
+    }
+
+    it("should build on existing dimensions without changing them") {
+      val original = dimensions("dimensions.a" -> 1)
+      val builder = new Dimensions.Builder(original)
+      builder.put(Dimension.named("dimensions.b"), 2)
+      builder.put(Dimension.named("dimensions.a"), 3)
+
+      builder.build().toMap.asScala shouldBe Map("dimensions.a" -> 3, "dimensions.b" -> 2)
+      original.toMap.asScala shouldBe Map("dimensions.a" -> 1)
+    }
+
+    it("should be the shared empty instance when there are no dimensions") {
+      dimensions() should be theSameInstanceAs Dimensions.EMPTY
+    }
+
+    it("should be equal to dimensions with the same values added in another order") {
+      val d1 = dimensions("dimensions.a" -> 1, "dimensions.b" -> 2)
+      val d2 = dimensions("dimensions.b" -> 2, "dimensions.a" -> 1)
+
+      d1 shouldEqual d2
+      d1.hashCode shouldBe d2.hashCode
+
+      d1 should not equal dimensions("dimensions.a" -> 1, "dimensions.b" -> 3)
+      d1 should not equal dimensions("dimensions.a" -> 1)
+      dimensions("dimensions.a" -> 1) shouldEqual dimensions("dimensions.a" -> 1, "dimensions.b" -> null)
+    }
+
+    it("should hash like a map of the same dimensions") {
+      val d = dimensions("dimensions.a" -> 1, "dimensions.b" -> 2)
+
+      d.hashCode shouldBe d.toMap.hashCode
+      d.hashCode should not be dimensions("dimensions.a" -> 2, "dimensions.b" -> 1).hashCode
+    }
+
+    describe("kept by their key") {
+      def keyed(entries: (String, Any)*): Dimensions = {
+        val builder = new Dimensions.Builder(Dimensions.EMPTY)
+        entries.foreach { case (key, value) => builder.put(key, value) }
+        builder.build()
+      }
+
+      it("should provide the value for each dimension") {
+        val d = keyed("keyed.a" -> 1, "keyed.b" -> "two").`with`("keyed.c", 3.0)
+
+        d.get("keyed.a") shouldBe 1
+        d.get("keyed.b") shouldBe "two"
+        d.get("keyed.c") shouldBe 3.0
+        d.get("keyed.unset") shouldBe (null: Any)
+        d.toMap.asScala shouldBe Map("keyed.a" -> 1, "keyed.b" -> "two", "keyed.c" -> 3.0)
+      }
+
+      it("should remove a dimension that is added with a null value") {
+        keyed("keyed.a" -> 1, "keyed.a" -> null) should be theSameInstanceAs Dimensions.EMPTY
+        keyed("keyed.a" -> 1).`with`("keyed.a", null) should be theSameInstanceAs Dimensions.EMPTY
+      }
+
+      it("should be equal to dimensions with the same values added in another order") {
+        val d1 = keyed("keyed.a" -> 1, "keyed.b" -> 2)
+        val d2 = keyed("keyed.b" -> 2, "keyed.a" -> 1)
+
+        d1 shouldEqual d2
+        d1.hashCode shouldBe d2.hashCode
+        d1 should not equal keyed("keyed.a" -> 1, "keyed.b" -> 3)
+        d1 should not equal keyed("keyed.a" -> 1, "keyed.c" -> 2)
+        d1.hashCode should not be keyed("keyed.a" -> 2, "keyed.b" -> 1).hashCode
+      }
+
+      it("should add a dimension on top of the existing dimensions without changing them") {
+        val original = keyed("keyed.a" -> 1)
+        val layered = original.`with`("keyed.b", 2).`with`("keyed.a", 3)
+
+        layered.get("keyed.a") shouldBe 3
+        layered.get("keyed.b") shouldBe 2
+        original.get("keyed.a") shouldBe 1
+        original.get("keyed.b") shouldBe (null: Any)
+
+        layered shouldEqual keyed("keyed.a" -> 3, "keyed.b" -> 2)
+        layered.hashCode shouldBe keyed("keyed.a" -> 3, "keyed.b" -> 2).hashCode
+        layered.toMap.asScala shouldBe Map("keyed.a" -> 3, "keyed.b" -> 2)
+      }
+
+      it("should keep every value when the layers are flattened") {
+        val keys = (1 to Dimensions.MAX_LAYERS * 3).map(i => s"keyed.layer$i")
+        val layered = keys.zipWithIndex.foldLeft(Dimensions.EMPTY) { case (d, (key, i)) => d.`with`(key, i) }
+
+        keys.zipWithIndex.foreach { case (key, i) => layered.get(key) shouldBe i }
+        layered shouldEqual keyed(keys.zipWithIndex: _*)
+      }
+
+      it("should hash the same whether a dimension is kept by its key or at its slot") {
+        val byKey = keyed("dimensions.hashed.then.registered" -> 1).`with`("keyed.layered", 2)
+        val hashCode = byKey.hashCode
+
+        val dimension = Dimension.named("dimensions.hashed.then.registered")
+        val atSlot = Dimensions.EMPTY.`with`(dimension, 1).`with`("keyed.layered", 2)
+
+        byKey.hashCode shouldBe hashCode
+        atSlot.hashCode shouldBe hashCode
+        byKey shouldEqual atSlot
+        get(byKey, "dimensions.hashed.then.registered") shouldBe 1
+      }
+
+      it("should replace a dimension kept by its key when it is added at its slot") {
+        val d = keyed("dimensions.keyed.then.registered" -> 1).`with`(Dimension.named("dimensions.keyed.then.registered"), 2)
+
+        get(d, "dimensions.keyed.then.registered") shouldBe 2
+        d.toMap.asScala shouldBe Map("dimensions.keyed.then.registered" -> 2)
+      }
+    }
+
+    describe("with") {
+      it("should add a dimension on top of the existing dimensions without changing them") {
+        val original = dimensions("dimensions.a" -> 1)
+        val layered = original.`with`(Dimension.named("dimensions.b"), 2).`with`(Dimension.named("dimensions.a"), 3)
+
+        get(layered, "dimensions.a") shouldBe 3
+        get(layered, "dimensions.b") shouldBe 2
+        get(original, "dimensions.a") shouldBe 1
+        get(original, "dimensions.b") shouldBe (null: Any)
+      }
+
+      it("should remove a dimension that is added with a null value") {
+        val layered = dimensions("dimensions.a" -> 1).`with`(Dimension.named("dimensions.a"), null)
+
+        get(layered, "dimensions.a") shouldBe (null: Any)
+        layered shouldEqual Dimensions.EMPTY
+        layered.toMap.isEmpty shouldBe true
+      }
+
+      it("should be equal to the same dimensions built at once") {
+        val layered = Dimensions.EMPTY.`with`(Dimension.named("dimensions.b"), 2).`with`(Dimension.named("dimensions.a"), 1)
+        val built = dimensions("dimensions.a" -> 1, "dimensions.b" -> 2)
+
+        layered shouldEqual built
+        built shouldEqual layered
+        layered.hashCode shouldBe built.hashCode
+        layered.toMap shouldEqual built.toMap
+      }
+
+      it("should keep every value when the layers are flattened") {
+        val keys = (1 to Dimensions.MAX_LAYERS * 3).map(i => s"dimensions.layer$i")
+        val layered = keys.zipWithIndex.foldLeft(Dimensions.EMPTY) { case (d, (key, i)) => d.`with`(Dimension.named(key), i) }
+
+        keys.zipWithIndex.foreach { case (key, i) => get(layered, key) shouldBe i }
+        layered shouldEqual dimensions(keys.zipWithIndex: _*)
+      }
+    }
+  }
+}
@@ -8,7 +8,12 @@ import scala.collection.JavaConverters._
 class FeatureCheckInputSpec  extends FunSpec with Matchers {
   describe("ConfigDecisionInput equals and hashCode") {
     it("should satisfy their contract") {
-      EqualsVerifier.forClass(classOf[FeatureCheckInput]).usingGetClass().verify()
+      // Dimensions hash their keys, so they are made from registered dimensions rather than arbitrary arrays
+      val red = Dimensions.EMPTY.`with`(Dimension.named("equals.red"), "red")
+      val blue = Dimensions.EMPTY.`with`(Dimension.named("equals.blue"), "blue")
+
+      EqualsVerifier.forClass(classOf[FeatureCheckInput]).usingGetClass().withIgnoredFields("userIdHash")
+        .withPrefabValues(classOf[Dimensions], red, blue).verify()
     }
   }
 
@@ -25,6 +30,21 @@ class FeatureCheckInputSpec  extends FunSpec with Matchers {
     }
   }
 
+  describe("empty") {
+    it("should not provide a user or time") {
+      FeatureCheckInput.empty().getUserId.isPresent shouldBe false
+      FeatureCheckInput.empty().getDateTime.isPresent shouldBe false
+    }
+
+    it("should be shared") {
+      FeatureCheckInput.empty() should be theSameInstanceAs FeatureCheckInput.empty()
+    }
+
+    it("should be equal to an input built without dimensions") {
+      FeatureCheckInput.empty() shouldEqual new FeatureCheckInput.Builder().build()
+    }
+  }
+
   describe("forUserAtTime") {
     val time = java.time.Instant.ofEpochMilli(1490917936950L)
     val featureCheckInput = FeatureCheckInput.forUserAtTime("123456", time)
@@ -91,4 +111,119 @@ class FeatureCheckInputSpec  extends FunSpec with Matchers {
       }
     }
   }
+
+  describe("getUserIdHash") {
+    it("should hash the userId once for the same function") {
+      var hashes = 0
+      val hashFunction: java.util.function.ToIntFunction[String] = userId => {
+        hashes += 1
+        userId.length
+      }
+
+      val featureCheckInput = FeatureCheckInput.forUser("8675309")
+
+      featureCheckInput.getUserIdHash(hashFunction).getAsInt shouldBe 7
+      featureCheckInput.getUserIdHash(hashFunction).getAsInt shouldBe 7
+      hashes shouldBe 1
+    }
+
+    it("should hash the userId again for a different function") {
+      val featureCheckInput = FeatureCheckInput.forUser("8675309")
+
+      featureCheckInput.getUserIdHash(_.length).getAsInt shouldBe 7
+      featureCheckInput.getUserIdHash(_.hashCode).getAsInt shouldBe "8675309".hashCode
+    }
+
+    it("should be empty without a userId") {
+      FeatureCheckInput.empty().getUserIdHash(_.length).isPresent shouldBe false
+    }
+
+    it("should not affect equality") {
+      val featureCheckInput = FeatureCheckInput.forUserAtTime("8675309", java.time.Instant.EPOCH)
+      featureCheckInput.getUserIdHash(_.length)
+
+      featureCheckInput shouldEqual FeatureCheckInput.forUserAtTime("8675309", java.time.Instant.EPOCH)
+    }
+  }
+
+  describe("getDimension") {
+    it("should provide the built-in dimensions by their keys") {
+      val now = java.time.Instant.now()
+      val featureCheckInput = FeatureCheckInput.forUserAtTime("8675309", now)
+
+      featureCheckInput.getDimension("USER_ID").get() shouldBe "8675309"
+      featureCheckInput.getDimension("DATE_TIME").get() shouldBe now
+    }
+  }
+
+  describe("equals") {
+    it("should not depend on the order the custom dimensions were added in") {
+      val input1 = new FeatureCheckInput.Builder().userId("8675309").dimension("foo", 1).dimension("bar", 2).build()
+      val input2 = new FeatureCheckInput.Builder().dimension("bar", 2).dimension("foo", 1).userId("8675309").build()
+
+      input1 shouldEqual input2
+      input1.hashCode shouldBe input2.hashCode
+    }
+  }
+
+  describe("withAdditionalDimension layered several times") {
+    val base = FeatureCheckInput.forUserAtTime("8675309", java.time.Instant.EPOCH)
+    val layered = (1 to 20).foldLeft(base) { (input, i) => input.withAdditionalDimension(s"layer$i", i) }
+
+    it("should provide every dimension") {
+      (1 to 20).foreach { i => layered.getDimension(s"layer$i").get() shouldBe i }
+      layered.getUserId.get() shouldBe "8675309"
+    }
+
+    it("should be equal to the input built at once") {
+      val built = (1 to 20).foldLeft(new FeatureCheckInput.Builder(base)) { (builder, i) => builder.dimension(s"layer$i", i) }.build()
+
+      layered shouldEqual built
+      layered.hashCode shouldBe built.hashCode
+    }
+
+    it("should not change the input it was derived from") {
+      base.getDimension("layer1").isPresent shouldBe false
+    }
+
+    it("should error on attempt to add a built-in dimension") {
+      an [IllegalArgumentException] should be thrownBy base.withAdditionalDimension("USER_ID", "bar")
+    }
+  }
+
+  describe("withAdditionalDimensions") {
+    val country = Dimension.named("additional.country")
+    val base = FeatureCheckInput.forUserAtTime("8675309", java.time.Instant.EPOCH).withAdditionalDimension(country, "US")
+
+    def additional(count: Int): java.util.Map[String, Any] =
+      ((1 to count).map(i => s"additional$i" -> i) :+ ("additional.country" -> "CA")).toMap[String, Any].asJava
+
+    Seq(3, Dimensions.MAX_LAYERS * 2).foreach { count =>
+      describe(s"with $count dimensions") {
+        val input = base.withAdditionalDimensions(additional(count))
+
+        it("should provide every dimension") {
+          (1 to count).foreach { i => input.getDimension(s"additional$i").get() shouldBe i }
+          input.getDimension(country).get() shouldBe "CA"
+          input.getUserId.get() shouldBe "8675309"
+        }
+
+        it("should be equal to the input built at once") {
+          val built = new FeatureCheckInput.Builder(base).dimensions(additional(count)).build()
+
+          input shouldEqual built
+          input.hashCode shouldBe built.hashCode
+        }
+
+        it("should not change the input it was derived from") {
+          base.getDimension("additional1").isPresent shouldBe false
+          base.getDimension(country).get() shouldBe "US"
+        }
+      }
+    }
+
+    it("should error on attempt to add a built-in dimension") {
+      an [IllegalArgumentException] should be thrownBy base.withAdditionalDimensions(Map("DATE_TIME" -> "bar").asJava)
+    }
+  }
 }
@@ -0,0 +1,58 @@
+package com.nike.moirai
+
+import org.scalatest.{FunSpec, Matchers}
+
+import scala.collection.JavaConverters._
+
+class FeatureFlagCheckerSpec extends FunSpec with Matchers {
+  val featureFlagChecker: FeatureFlagChecker = new FeatureFlagChecker {
+    override def isFeatureEnabled(featureIdentifier: String, featureCheckInput: FeatureCheckInput): Boolean =
+      featureIdentifier == "feature1" || featureCheckInput.getUserId.isPresent
+
+    override def isFeatureEnabled(featureIdentifier: String): Boolean = featureIdentifier == "feature2"
+  }
+
+  describe("enabledFeatures") {
+    it("should set the bit for each enabled feature given the input") {
+      val enabled = featureFlagChecker.enabledFeatures(Seq("feature1", "feature2", "feature3").asJava, FeatureCheckInput.empty())
+      enabled.get(0) shouldBe true
+      enabled.get(1) shouldBe false
+      enabled.get(2) shouldBe false
+      enabled.cardinality() shouldBe 1
+    }
+
+    it("should set the bit for each enabled feature given a user") {
+      featureFlagChecker.enabledFeatures(Seq("feature1", "feature2", "feature3").asJava, FeatureCheckInput.forUser("a")).cardinality() shouldBe 3
+    }
+
+    it("should set the bit for each enabled feature without input") {
+      val enabled = featureFlagChecker.enabledFeatures(Seq("feature1", "feature2", "feature3").asJava)
+      enabled.get(0) shouldBe false
+      enabled.get(1) shouldBe true
+      enabled.get(2) shouldBe false
+    }
+
+    it("should return an empty BitSet for no features") {
+      featureFlagChecker.enabledFeatures(Seq.empty[String].asJava).isEmpty shouldBe true
+    }
+  }
+
+  describe("enabledUsers") {
+    val userFeatureFlagChecker: FeatureFlagChecker = new FeatureFlagChecker {
+      override def isFeatureEnabled(featureIdentifier: String, featureCheckInput: FeatureCheckInput): Boolean =
+        featureCheckInput.getDateTime.isPresent && featureCheckInput.getUserId.filter(_.startsWith(featureIdentifier)).isPresent
+
+      override def isFeatureEnabled(featureIdentifier: String): Boolean = false
+    }
+
+    it("should filter the users for which the feature is enabled") {
+      userFeatureFlagChecker.enabledUsers("a", java.util.stream.Stream.of("a1", "b1", "a2")).toArray shouldBe Array("a1", "a2")
+    }
+  }
+
+  describe("snapshot") {
+    it("should return the checker itself by default") {
+      featureFlagChecker.snapshot() should be theSameInstanceAs featureFlagChecker
+    }
+  }
+}
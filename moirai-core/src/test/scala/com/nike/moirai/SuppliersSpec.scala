@@ -1,6 +1,7 @@
 package com.nike.moirai
 
-import java.util.concurrent.CompletableFuture
+import java.time.Duration
+import java.util.concurrent.{CompletableFuture, CountDownLatch, Executors, ForkJoinWorkerThread, RejectedExecutionException, TimeUnit}
 
 import org.scalatest.{FunSpec, Matchers}
 
@@ -11,6 +12,56 @@ class SuppliersSpec  extends FunSpec with Matchers {
     }
   }
 
+  describe("memoizedSupplierAndThen") {
+    it("should apply the function once for the same input instance") {
+      var applied = 0
+      var input = new String("abc")
+      val supplier = Suppliers.memoizedSupplierAndThen[String, String](() => input, s => {
+        applied += 1
+        s.toUpperCase
+      })
+
+      supplier.get() shouldBe "ABC"
+      supplier.get() shouldBe "ABC"
+      applied shouldBe 1
+
+      input = new String("abc")
+      supplier.get() shouldBe "ABC"
+      applied shouldBe 2
+
+      input = "def"
+      supplier.get() shouldBe "DEF"
+      applied shouldBe 3
+    }
+  }
+
+  describe("memoize") {
+    it("should call the supplier again once the duration has passed") {
+      var calls = 0
+      val supplier = Suppliers.memoize[Int](() => {
+        calls += 1
+        calls
+      }, Duration.ofMillis(200))
+
+      supplier.get() shouldBe 1
+      supplier.get() shouldBe 1
+      Thread.sleep(300)
+      supplier.get() shouldBe 2
+      supplier.get() shouldBe 2
+    }
+
+    it("should not memoize for a zero duration") {
+      var calls = 0
+      val supplier = Suppliers.memoize[Int](() => {
+        calls += 1
+        calls
+      }, Duration.ZERO)
+
+      supplier.get() shouldBe 1
+      supplier.get() shouldBe 2
+    }
+  }
+
   describe("futureSupplierAndThen") {
     it("should apply the function to the result") {
       Suppliers.futureSupplierAndThen[String, Int](
@@ -31,5 +82,57 @@ class SuppliersSpec  extends FunSpec with Matchers {
     it("should wrap a supplier into a CompletableFuture") {
       Suppliers.async[String](() => "abc").get().get() shouldBe "abc"
     }
+
+    it("should return a failed future if the supplier throws") {
+      Suppliers.async[String](() => throw new RuntimeException("error")).get().exceptionally(_ => "recovered").get() shouldBe "recovered"
+    }
+
+    it("should interrupt the supplier when the future is cancelled") {
+      val started = new CountDownLatch(1)
+      val interrupted = new CountDownLatch(1)
+
+      val future = Suppliers.async[String](() => {
+        started.countDown()
+        try {
+          Thread.sleep(10000)
+          "finished"
+        } catch {
+          case e: InterruptedException =>
+            interrupted.countDown()
+            throw e
+        }
+      }).get()
+
+      started.await(1, TimeUnit.SECONDS) shouldBe true
+      future.cancel(true) shouldBe true
+      interrupted.await(1, TimeUnit.SECONDS) shouldBe true
+      future.isCancelled shouldBe true
+    }
+  }
+
+  describe("async with an executor") {
+    it("should call the supplier with the executor") {
+      val executor = Executors.newSingleThreadExecutor((runnable: Runnable) => new Thread(runnable, "custom-executor-thread"))
+      try {
+        Suppliers.async[String](() => Thread.currentThread().getName, executor).get().get() shouldBe "custom-executor-thread"
+      } finally {
+        executor.shutdown()
+      }
+    }
+
+    it("should throw if the executor rejects the call") {
+      val executor = Executors.newSingleThreadExecutor()
+      executor.shutdown()
+      a[RejectedExecutionException] should be thrownBy Suppliers.async[String](() => "abc", executor).get()
+    }
+  }
+
+  describe("asyncOnVirtualThreads") {
+    it("should call the supplier outside of the common pool") {
+      val thread = Suppliers.asyncOnVirtualThreads[Thread](() => Thread.currentThread()).get().get()
+      thread.isDaemon shouldBe true
+      thread shouldNot be (a[ForkJoinWorkerThread])
+    }
   }
 }
+
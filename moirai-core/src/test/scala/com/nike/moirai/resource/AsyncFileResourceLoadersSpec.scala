@@ -0,0 +1,57 @@
+package com.nike.moirai.resource
+
+import java.io.File
+import java.nio.charset.StandardCharsets
+import java.nio.file.Files
+import java.util.concurrent.{ExecutionException, Executors}
+
+import org.scalatest.{FunSpec, Matchers}
+
+class AsyncFileResourceLoadersSpec extends FunSpec with Matchers {
+  val resourceFile = new File("moirai-core/src/test/resources/com/nike/moirai/resource/resource.txt")
+
+  describe("forFile") {
+    it("should load a file as UTF-8") {
+      AsyncFileResourceLoaders.forFile(resourceFile).get().get() shouldBe "Hi! 😎\n"
+    }
+
+    it("should load a large file") {
+      val file = File.createTempFile("moirai", ".conf")
+      file.deleteOnExit()
+      val content = "0123456789" * 200000
+      Files.write(file.toPath, content.getBytes(StandardCharsets.UTF_8))
+
+      AsyncFileResourceLoaders.forFile(file).get().get() shouldBe content
+    }
+
+    it("should fail for a missing file") {
+      an[ExecutionException] should be thrownBy AsyncFileResourceLoaders.forFile(new File("does/not/exist.txt")).get().get()
+    }
+  }
+
+  describe("forFileBytes") {
+    it("should load the bytes of a file") {
+      val buffer = AsyncFileResourceLoaders.forFileBytes(resourceFile).get().get()
+      StandardCharsets.UTF_8.decode(buffer).toString shouldBe "Hi! 😎\n"
+    }
+  }
+
+  describe("forClasspathResource") {
+    it("should load a classpath resource as UTF-8 on the resource loading threads") {
+      AsyncFileResourceLoaders.forClasspathResource("com/nike/moirai/resource/resource.txt").get().get() shouldBe "Hi! 😎"
+    }
+
+    it("should load a classpath resource with the given executor") {
+      val executor = Executors.newSingleThreadExecutor()
+      try {
+        AsyncFileResourceLoaders.forClasspathResource("com/nike/moirai/resource/resource.txt", executor).get().get() shouldBe "Hi! 😎"
+      } finally {
+        executor.shutdown()
+      }
+    }
+
+    it("should fail for a missing resource") {
+      an[ExecutionException] should be thrownBy AsyncFileResourceLoaders.forClasspathResource("does/not/exist.txt").get().get()
+    }
+  }
+}
@@ -0,0 +1,33 @@
+package com.nike.moirai.resource
+
+import java.nio.ByteBuffer
+
+import org.scalatest.{FunSpec, Matchers}
+
+class ByteBufferInputStreamSpec extends FunSpec with Matchers {
+  describe("ByteBufferInputStream") {
+    it("should read the remaining bytes of the buffer") {
+      val buffer = ByteBuffer.wrap(Array[Byte](1, 2, -3, 4))
+      buffer.get()
+
+      val in = new ByteBufferInputStream(buffer)
+      in.available() shouldBe 3
+      in.read() shouldBe 2
+      in.read() shouldBe 253
+
+      val bytes = new Array[Byte](4)
+      in.read(bytes, 0, 4) shouldBe 1
+      bytes(0) shouldBe 4
+      in.read() shouldBe -1
+      in.read(bytes, 0, 4) shouldBe -1
+    }
+
+    it("should not change the position of the buffer") {
+      val buffer = ByteBuffer.wrap(Array[Byte](1, 2, 3))
+      val in = new ByteBufferInputStream(buffer)
+      in.skip(2) shouldBe 2
+      in.read() shouldBe 3
+      buffer.position() shouldBe 0
+    }
+  }
+}
@@ -1,6 +1,7 @@
 package com.nike.moirai.resource
 
 import java.io.File
+import java.nio.charset.StandardCharsets
 
 import org.scalatest.{FunSpec, Matchers}
 
@@ -16,4 +17,24 @@ class FileResourceLoadersSpec extends FunSpec with Matchers {
       FileResourceLoaders.forFile(new File("moirai-core/src/test/resources/com/nike/moirai/resource/resource.txt")).get() shouldBe "Hi! \uD83D\uDE0E"
     }
   }
+
+  describe("forFileBytes") {
+    it("should load the bytes of a file") {
+      val buffer = FileResourceLoaders.forFileBytes(new File("moirai-core/src/test/resources/com/nike/moirai/resource/resource.txt")).get()
+      StandardCharsets.UTF_8.decode(buffer).toString shouldBe "Hi! \uD83D\uDE0E\n"
+    }
+
+    it("should fail for a missing file") {
+      a[RuntimeException] should be thrownBy FileResourceLoaders.forFileBytes(new File("does/not/exist.txt")).get()
+    }
+  }
+
+  describe("forMappedFile") {
+    it("should map the bytes of a file") {
+      val buffer = FileResourceLoaders.forMappedFile(new File("moirai-core/src/test/resources/com/nike/moirai/resource/resource.txt")).get()
+      buffer.isReadOnly shouldBe true
+      StandardCharsets.UTF_8.decode(buffer).toString shouldBe "Hi! \uD83D\uDE0E\n"
+    }
+  }
 }
+
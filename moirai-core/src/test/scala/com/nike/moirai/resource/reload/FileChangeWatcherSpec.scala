@@ -0,0 +1,115 @@
+package com.nike.moirai.resource.reload
+
+import java.io.File
+import java.nio.charset.StandardCharsets
+import java.nio.file.Files
+import java.time.Duration
+import java.time.temporal.ChronoUnit.{HOURS, SECONDS}
+import java.util.concurrent.{CountDownLatch, TimeUnit}
+
+import com.nike.moirai.Suppliers
+import com.nike.moirai.resource.FileResourceLoaders
+import org.scalatest.{FunSpec, Matchers}
+
+class FileChangeWatcherSpec extends FunSpec with Matchers {
+  def tempFile(content: String): File = {
+    val file = File.createTempFile("moirai", ".conf")
+    file.deleteOnExit()
+    Files.write(file.toPath, content.getBytes(StandardCharsets.UTF_8))
+    file
+  }
+
+  def eventually(condition: => Boolean): Boolean = {
+    val deadline = System.currentTimeMillis() + 5000
+    while (!condition && System.currentTimeMillis() < deadline) Thread.sleep(10)
+    condition
+  }
+
+  describe("FileChangeWatcher") {
+    it("should run the action when the file changes") {
+      val file = tempFile("a")
+      val changed = new CountDownLatch(1)
+      val watcher = FileChangeWatcher.watch(file, Duration.ofMillis(100), () => changed.countDown())
+
+      try {
+        Files.write(file.toPath, "bb".getBytes(StandardCharsets.UTF_8))
+        changed.await(5, TimeUnit.SECONDS) shouldBe true
+      } finally {
+        watcher.close()
+      }
+    }
+
+    it("should run the action when the file changes long before the next poll") {
+      val file = tempFile("a")
+      val changed = new CountDownLatch(1)
+      val watcher = FileChangeWatcher.watch(file, Duration.ofMinutes(1), () => changed.countDown())
+
+      try {
+        Files.write(file.toPath, "bb".getBytes(StandardCharsets.UTF_8))
+        // Only the watch service can report the change in time; some JDKs poll for it every 10 seconds
+        changed.await(15, TimeUnit.SECONDS) shouldBe true
+      } finally {
+        watcher.close()
+      }
+    }
+
+    it("should not run the action while the file is unchanged") {
+      val file = tempFile("a")
+      val changed = new CountDownLatch(1)
+      val watcher = FileChangeWatcher.watch(file, Duration.ofMillis(50), () => changed.countDown())
+
+      try {
+        changed.await(300, TimeUnit.MILLISECONDS) shouldBe false
+      } finally {
+        watcher.close()
+      }
+    }
+
+    it("should stop watching when closed") {
+      val file = tempFile("a")
+      val changed = new CountDownLatch(1)
+      val watcher = FileChangeWatcher.watch(file, Duration.ofMillis(50), () => changed.countDown())
+
+      watcher.close()
+      Thread.sleep(100)
+      Files.write(file.toPath, "bb".getBytes(StandardCharsets.UTF_8))
+      changed.await(300, TimeUnit.MILLISECONDS) shouldBe false
+    }
+  }
+
+  describe("FileChangeWatcher for a reloader") {
+    it("should reload the file as soon as it changes") {
+      val file = tempFile("first")
+      val resourceReloader = ResourceReloader.withCustomSettings(
+        Suppliers.async(FileResourceLoaders.forFile(file)),
+        "initial",
+        new ResourceReloadSettings(Duration.of(1, HOURS), Duration.of(5, SECONDS))
+      )
+      val watcher = FileChangeWatcher.forReloader(file, resourceReloader)
+
+      try {
+        Files.write(file.toPath, "second".getBytes(StandardCharsets.UTF_8))
+        eventually(resourceReloader.getValue == "second") shouldBe true
+      } finally {
+        watcher.close()
+        resourceReloader.shutdown()
+      }
+    }
+
+    it("should only check the file every minute while the watch service watches it") {
+      val file = tempFile("first")
+      val resourceReloader = ResourceReloader.withCustomSettingsAndManualLifecycle(
+        Suppliers.async(FileResourceLoaders.forFile(file)),
+        "initial",
+        new ResourceReloadSettings(Duration.of(1, HOURS), Duration.of(5, SECONDS))
+      )
+      val watcher = FileChangeWatcher.forReloader(file, resourceReloader)
+
+      try {
+        watcher.getPollInterval shouldBe Duration.ofMinutes(1)
+      } finally {
+        watcher.close()
+      }
+    }
+  }
+}
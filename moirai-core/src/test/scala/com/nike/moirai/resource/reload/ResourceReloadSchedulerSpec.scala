@@ -0,0 +1,139 @@
+package com.nike.moirai.resource.reload
+
+import java.time.Duration
+import java.time.temporal.ChronoUnit.MILLIS
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.{CompletableFuture, Executors}
+
+import com.nike.moirai.Suppliers
+import org.scalatest.{FunSpec, Matchers}
+
+class ResourceReloadSchedulerSpec extends FunSpec with Matchers {
+  describe("A scheduler shared by several reloaders") {
+    val scheduler = ResourceReloadScheduler.create(1)
+
+    val fastLoads = new AtomicInteger()
+    val slowLoads = new AtomicInteger()
+    val stuckLoads = new AtomicInteger()
+
+    val fastReloader = ResourceReloader.withCustomSettingsAndScheduler(
+      Suppliers.async(() => fastLoads.incrementAndGet()),
+      0,
+      new ResourceReloadSettings(Duration.of(20L, MILLIS), Duration.of(1000L, MILLIS)),
+      scheduler
+    )
+
+    val slowReloader = ResourceReloader.withCustomSettingsAndScheduler(
+      Suppliers.async(() => slowLoads.incrementAndGet()),
+      0,
+      new ResourceReloadSettings(Duration.of(200L, MILLIS), Duration.of(1000L, MILLIS)),
+      scheduler
+    )
+
+    val stuckReloader = ResourceReloader.withCustomSettingsAndScheduler[Integer](
+      () => {
+        stuckLoads.incrementAndGet()
+        new CompletableFuture[Integer]()
+      },
+      0,
+      new ResourceReloadSettings(Duration.of(10L, MILLIS), Duration.of(10000L, MILLIS)),
+      scheduler
+    )
+
+    it("should reload each resource at its own frequency without waiting on other resources") {
+      Thread.sleep(500)
+      fastReloader.getValue.intValue() should be > 10
+      slowReloader.getValue.intValue() should be >= 1
+      slowReloader.getValue.intValue() should be < fastReloader.getValue.intValue() / 3
+      stuckLoads.get() shouldBe 1
+      stuckReloader.getValue shouldBe 0
+    }
+
+    it("should keep reloading the other resources when one reloader is shut down") {
+      slowReloader.shutdown()
+      val slowValue = slowReloader.getValue
+      val fastValue = fastReloader.getValue
+      Thread.sleep(300)
+      slowReloader.getValue shouldBe slowValue
+      fastReloader.getValue.intValue() should be > fastValue.intValue()
+    }
+
+    it("should stop all of the reloads when it is shut down") {
+      scheduler.shutdown()
+      scheduler.isShutdown shouldBe true
+      Thread.sleep(100)
+      val fastValue = fastReloader.getValue
+      Thread.sleep(100)
+      fastReloader.getValue shouldBe fastValue
+    }
+  }
+
+  describe("A scheduler shared with a reloader whose resource loader blocks") {
+    it("should keep reloading the other resources, and time out the blocked load") {
+      val scheduler = ResourceReloadScheduler.create(1)
+
+      val fastReloader = ResourceReloader.withCustomSettingsAndScheduler(
+        Suppliers.async(() => "loaded"),
+        "initial",
+        new ResourceReloadSettings(Duration.of(10L, MILLIS), Duration.of(1000L, MILLIS)),
+        scheduler
+      )
+
+      val blockingReloader = ResourceReloader.withCustomSettingsAndScheduler[Integer](
+        () => {
+          Thread.sleep(5000)
+          CompletableFuture.completedFuture(1)
+        },
+        0,
+        new ResourceReloadSettings(Duration.of(10000L, MILLIS), Duration.of(100L, MILLIS)),
+        scheduler
+      )
+      blockingReloader.reloadNow()
+
+      Thread.sleep(300)
+      fastReloader.getValue shouldBe "loaded"
+      blockingReloader.getAbandonedLoadCount shouldBe 1L
+      blockingReloader.getValue shouldBe 0
+
+      scheduler.shutdown()
+    }
+  }
+
+  describe("A scheduler for an executor service") {
+    it("should schedule on the executor service and shut it down") {
+      val executorService = Executors.newSingleThreadScheduledExecutor()
+      val scheduler = ResourceReloadScheduler.forExecutorService(executorService)
+
+      val reloader = ResourceReloader.withCustomSettingsAndScheduler(
+        Suppliers.async(() => "loaded"),
+        "initial",
+        new ResourceReloadSettings(Duration.of(10L, MILLIS), Duration.of(1000L, MILLIS)),
+        scheduler
+      )
+
+      Thread.sleep(100)
+      reloader.getValue shouldBe "loaded"
+
+      scheduler.shutdown()
+      executorService.isShutdown shouldBe true
+    }
+  }
+
+  describe("The shared scheduler") {
+    it("should be the same instance for all reloaders") {
+      ResourceReloadScheduler.shared() should be theSameInstanceAs ResourceReloadScheduler.shared()
+    }
+
+    it("should run reloads on daemon threads") {
+      val thread = new CompletableFuture[Thread]()
+      ResourceReloadScheduler.shared().schedule(() => thread.complete(Thread.currentThread()), Duration.ZERO)
+      thread.get().isDaemon shouldBe true
+      thread.get().getName should startWith("ReloadableResourceMoiraiThread-")
+    }
+
+    it("should not be shut down by its users") {
+      an[UnsupportedOperationException] should be thrownBy ResourceReloadScheduler.shared().shutdown()
+      ResourceReloadScheduler.shared().isShutdown shouldBe false
+    }
+  }
+}
@@ -1,5 +1,7 @@
 package com.nike.moirai.resource.reload
 
+import java.time.Duration
+
 import nl.jqno.equalsverifier.EqualsVerifier
 import org.scalatest.{FunSpec, Matchers}
 
@@ -9,4 +11,63 @@ class ResourceReloadSettingsSpec extends FunSpec with Matchers {
       EqualsVerifier.forClass(classOf[ResourceReloadSettings]).usingGetClass().verify()
     }
   }
+
+  describe("ResourceReloadSettings with a fixed frequency") {
+    val settings = new ResourceReloadSettings(Duration.ofSeconds(60), Duration.ofSeconds(10))
+
+    it("should be the same as the default settings from a builder") {
+      new ResourceReloadSettings.Builder(Duration.ofSeconds(60), Duration.ofSeconds(10)).build() shouldBe settings
+    }
+
+    it("should always wait the reload frequency") {
+      settings.reloadDelay(0, 0, 0.3) shouldBe Duration.ofSeconds(60)
+      settings.reloadDelay(5, 0, 0.9) shouldBe Duration.ofSeconds(60)
+      settings.reloadDelay(0, 5, 0.0) shouldBe Duration.ofSeconds(60)
+    }
+  }
+
+  describe("ResourceReloadSettings with jitter") {
+    val settings = new ResourceReloadSettings.Builder(Duration.ofSeconds(60), Duration.ofSeconds(10)).jitter(0.1).build()
+
+    it("should randomize the reload frequency by up to the jitter") {
+      settings.reloadDelay(0, 0, 0.0) shouldBe Duration.ofSeconds(54)
+      settings.reloadDelay(0, 0, 0.5) shouldBe Duration.ofSeconds(60)
+      settings.reloadDelay(0, 0, 0.75) shouldBe Duration.ofSeconds(63)
+    }
+
+    it("should reject jitter outside of 0.0 to 1.0") {
+      an[IllegalArgumentException] should be thrownBy new ResourceReloadSettings.Builder(Duration.ofSeconds(60), Duration.ofSeconds(10)).jitter(-0.1)
+      an[IllegalArgumentException] should be thrownBy new ResourceReloadSettings.Builder(Duration.ofSeconds(60), Duration.ofSeconds(10)).jitter(1.5)
+    }
+  }
+
+  describe("ResourceReloadSettings with backoff") {
+    val settings = new ResourceReloadSettings.Builder(Duration.ofSeconds(60), Duration.ofSeconds(10))
+      .failureBackoff(Duration.ofMinutes(10))
+      .unchangedBackoff(Duration.ofMinutes(4))
+      .build()
+
+    it("should double the delay for each consecutive failure up to the maximum") {
+      settings.reloadDelay(1, 0, 0.5) shouldBe Duration.ofMinutes(2)
+      settings.reloadDelay(2, 0, 0.5) shouldBe Duration.ofMinutes(4)
+      settings.reloadDelay(3, 0, 0.5) shouldBe Duration.ofMinutes(8)
+      settings.reloadDelay(4, 0, 0.5) shouldBe Duration.ofMinutes(10)
+      settings.reloadDelay(1000, 0, 0.5) shouldBe Duration.ofMinutes(10)
+    }
+
+    it("should double the delay for each consecutive unchanged load up to the maximum") {
+      settings.reloadDelay(0, 1, 0.5) shouldBe Duration.ofMinutes(2)
+      settings.reloadDelay(0, 2, 0.5) shouldBe Duration.ofMinutes(4)
+      settings.reloadDelay(0, 3, 0.5) shouldBe Duration.ofMinutes(4)
+    }
+
+    it("should use the failure backoff while loads are failing") {
+      settings.reloadDelay(3, 3, 0.5) shouldBe Duration.ofMinutes(8)
+    }
+
+    it("should reject a maximum shorter than the reload frequency") {
+      an[IllegalArgumentException] should be thrownBy new ResourceReloadSettings.Builder(Duration.ofSeconds(60), Duration.ofSeconds(10)).failureBackoff(Duration.ofSeconds(30))
+      an[IllegalArgumentException] should be thrownBy new ResourceReloadSettings.Builder(Duration.ofSeconds(60), Duration.ofSeconds(10)).unchangedBackoff(Duration.ofSeconds(30))
+    }
+  }
 }
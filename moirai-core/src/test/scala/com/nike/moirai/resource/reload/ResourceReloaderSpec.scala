@@ -2,6 +2,8 @@ package com.nike.moirai.resource.reload
 
 import java.time.Duration
 import java.time.temporal.ChronoUnit.MILLIS
+import java.util.concurrent.{CompletableFuture, RejectedExecutionException, ScheduledFuture, ScheduledThreadPoolExecutor, TimeUnit}
+import java.util.concurrent.atomic.AtomicInteger
 
 import com.nike.moirai.Suppliers
 import org.scalatest.{FunSpec, Matchers}
@@ -68,4 +70,193 @@ class ResourceReloaderSpec extends FunSpec with Matchers {
       resourceReloader.getValue shouldBe lastValue
     }
   }
+
+  describe("ResourceReloader with backoff settings") {
+    it("should wait longer between reloads while loads fail") {
+      var loads = 0
+
+      val resourceReloader = ResourceReloader.withCustomSettingsAndManualLifecycle[Integer](
+        Suppliers.async(() => {
+          loads += 1
+          throw new RuntimeException("unavailable")
+        }),
+        0,
+        new ResourceReloadSettings.Builder(Duration.of(20L, MILLIS), Duration.of(100L, MILLIS)).failureBackoff(Duration.of(10000L, MILLIS)).build()
+      )
+
+      resourceReloader.init()
+      Thread.sleep(400)
+      resourceReloader.shutdown()
+
+      // 20, 40, 80, 160 and 320 milliseconds after each failure
+      loads should (be >= 3 and be <= 4)
+    }
+
+    it("should wait longer between reloads while the resource is unchanged") {
+      var loads = 0
+
+      val resourceReloader = ResourceReloader.withCustomSettingsAndManualLifecycle[String](
+        Suppliers.async(() => {
+          loads += 1
+          "unchanged"
+        }),
+        "unchanged",
+        new ResourceReloadSettings.Builder(Duration.of(20L, MILLIS), Duration.of(100L, MILLIS)).unchangedBackoff(Duration.of(10000L, MILLIS)).build()
+      )
+
+      resourceReloader.init()
+      Thread.sleep(400)
+      resourceReloader.shutdown()
+
+      loads should (be >= 3 and be <= 4)
+    }
+  }
+
+  describe("ResourceReloader for loads that time out") {
+    val loadsInProgress = new AtomicInteger()
+    val maxLoadsInProgress = new AtomicInteger()
+    val interruptedLoads = new AtomicInteger()
+
+    val resourceReloader = ResourceReloader.withCustomSettingsAndManualLifecycle[Integer](
+      Suppliers.async(() => {
+        maxLoadsInProgress.accumulateAndGet(loadsInProgress.incrementAndGet(), Math.max _)
+        try {
+          Thread.sleep(1000)
+          1
+        } catch {
+          case e: InterruptedException =>
+            interruptedLoads.incrementAndGet()
+            throw e
+        } finally {
+          loadsInProgress.decrementAndGet()
+        }
+      }),
+      0,
+      new ResourceReloadSettings(Duration.of(10L, MILLIS), Duration.of(30L, MILLIS))
+    )
+
+    it("should cancel the loads that time out and count them as abandoned") {
+      resourceReloader.init()
+      Thread.sleep(300)
+      resourceReloader.shutdown()
+      Thread.sleep(50)
+
+      resourceReloader.getValue shouldBe 0
+      resourceReloader.getAbandonedLoadCount should be >= 3L
+      resourceReloader.getFailedLoadCount shouldBe 0L
+      // The load in progress at shutdown, if any, is interrupted as well, without being abandoned or failed
+      interruptedLoads.get().toLong should (be >= resourceReloader.getAbandonedLoadCount and be <= resourceReloader.getAbandonedLoadCount + 1)
+      maxLoadsInProgress.get() shouldBe 1
+    }
+  }
+
+  describe("ResourceReloader for loads that fail") {
+    it("should count the failed loads") {
+      val resourceReloader = ResourceReloader.withCustomSettingsAndManualLifecycle[Integer](
+        () => {
+          val future = new CompletableFuture[Integer]()
+          future.completeExceptionally(new RuntimeException("unavailable"))
+          future
+        },
+        0,
+        new ResourceReloadSettings(Duration.of(10L, MILLIS), Duration.of(100L, MILLIS))
+      )
+
+      resourceReloader.init()
+      Thread.sleep(100)
+      resourceReloader.shutdown()
+
+      resourceReloader.getFailedLoadCount should be >= 3L
+      resourceReloader.getAbandonedLoadCount shouldBe 0L
+    }
+  }
+
+  describe("ResourceReloader when the timeout of a load cannot be scheduled") {
+    it("should end the load, so that a later reload can start") {
+      val schedules = new AtomicInteger()
+
+      // After the reloads scheduled by starting the reloader and by reloadNow, rejects the timeout of the load, and the reload it then
+      // tries to schedule
+      val executorService = new ScheduledThreadPoolExecutor(1) {
+        override def schedule(command: Runnable, delay: Long, unit: TimeUnit): ScheduledFuture[_] = {
+          val n = schedules.incrementAndGet()
+          if (n == 3 || n == 4) throw new RejectedExecutionException("rejected")
+          super.schedule(command, delay, unit)
+        }
+      }
+      val scheduler = ResourceReloadScheduler.forExecutorService(executorService)
+
+      val resourceReloader = ResourceReloader.withCustomSettingsAndScheduler(
+        Suppliers.async(() => "loaded"),
+        "initial",
+        new ResourceReloadSettings(Duration.of(100000L, MILLIS), Duration.of(1000L, MILLIS)),
+        scheduler
+      )
+
+      resourceReloader.reloadNow()
+      Thread.sleep(100)
+      schedules.get() shouldBe 4
+      resourceReloader.getValue shouldBe "initial"
+
+      resourceReloader.reloadNow()
+      Thread.sleep(100)
+      resourceReloader.getValue shouldBe "loaded"
+
+      scheduler.shutdown()
+    }
+  }
+
+  describe("ResourceReloader reloading now") {
+    it("should reload the resource without waiting for the reload frequency") {
+      var value = 1
+
+      val resourceReloader = ResourceReloader.withCustomSettings(
+        Suppliers.async(() => value),
+        0,
+        new ResourceReloadSettings(Duration.of(100000L, MILLIS), Duration.of(1000L, MILLIS))
+      )
+
+      resourceReloader.reloadNow()
+      Thread.sleep(100)
+      resourceReloader.getValue shouldBe 1
+
+      value = 2
+      resourceReloader.reloadNow()
+      Thread.sleep(100)
+      resourceReloader.getValue shouldBe 2
+
+      resourceReloader.shutdown()
+    }
+  }
+
+  describe("ResourceReloader with reloads requested while loading") {
+    it("should keep one reload per period after reloadNow is called repeatedly") {
+      val loads = new AtomicInteger()
+
+      val resourceReloader = ResourceReloader.withCustomSettings(
+        () => CompletableFuture.completedFuture(Int.box(loads.incrementAndGet())),
+        Int.box(0),
+        new ResourceReloadSettings(Duration.of(200L, MILLIS), Duration.of(1000L, MILLIS))
+      )
+
+      val deadline = System.currentTimeMillis() + 1000
+      val requesters = (1 to 4).map { _ =>
+        new Thread(() => while (System.currentTimeMillis() < deadline) resourceReloader.reloadNow())
+      }
+      requesters.foreach(_.start())
+      requesters.foreach(_.join())
+
+      // Let the reloads requested above finish
+      Thread.sleep(300)
+
+      val before = loads.get()
+      Thread.sleep(1000)
+      val after = loads.get()
+
+      resourceReloader.shutdown()
+
+      // One chain of reloads loads about 5 times a second; every extra chain would add as many again
+      (after - before) should (be >= 3 and be <= 7)
+    }
+  }
 }
@@ -0,0 +1,114 @@
+package com.nike.moirai.resource.reload
+
+import java.nio.ByteBuffer
+import java.nio.charset.StandardCharsets
+import java.util.concurrent.{CompletableFuture, ExecutionException}
+
+import org.scalatest.{FunSpec, Matchers}
+
+class StagedResourceLoaderSpec extends FunSpec with Matchers {
+  describe("StagedResourceLoader for strings") {
+    var raw = "a"
+    var transformations = 0
+
+    val loader = StagedResourceLoader.forStrings[Seq[String]](() => CompletableFuture.completedFuture(raw), s => {
+      transformations += 1
+      if (s == "fail") throw new IllegalArgumentException("bad resource")
+      Seq(s)
+    })
+
+    it("should transform the first resource") {
+      loader.get().get() shouldBe Seq("a")
+      transformations shouldBe 1
+    }
+
+    it("should supply the same instance without transforming when the content is unchanged") {
+      val first = loader.get().get()
+      raw = new String("a")
+      loader.get().get() should be theSameInstanceAs first
+      transformations shouldBe 1
+    }
+
+    it("should transform a changed resource") {
+      raw = "b"
+      loader.get().get() shouldBe Seq("b")
+      transformations shouldBe 2
+    }
+
+    it("should fail the load and keep the last value when the transformation fails") {
+      val last = loader.get().get()
+      raw = "fail"
+      an[ExecutionException] should be thrownBy loader.get().get()
+
+      raw = "b"
+      loader.get().get() should be theSameInstanceAs last
+    }
+  }
+
+  describe("StagedResourceLoader for bytes") {
+    var raw = "a".getBytes(StandardCharsets.UTF_8)
+    var transformations = 0
+
+    val loader = StagedResourceLoader.forBytes[String](() => CompletableFuture.completedFuture(raw), b => {
+      transformations += 1
+      new String(b, StandardCharsets.UTF_8)
+    })
+
+    it("should only transform when the content changes") {
+      loader.get().get() shouldBe "a"
+      raw = "a".getBytes(StandardCharsets.UTF_8)
+      loader.get().get() shouldBe "a"
+      transformations shouldBe 1
+
+      raw = "c".getBytes(StandardCharsets.UTF_8)
+      loader.get().get() shouldBe "c"
+      transformations shouldBe 2
+    }
+  }
+
+  describe("StagedResourceLoader for byte buffers") {
+    it("should only transform when the remaining bytes change") {
+      var raw = ByteBuffer.wrap("xa".getBytes(StandardCharsets.UTF_8))
+      raw.get()
+      var transformations = 0
+
+      val loader = StagedResourceLoader.forByteBuffers[String](() => CompletableFuture.completedFuture(raw), b => {
+        transformations += 1
+        StandardCharsets.UTF_8.decode(b).toString
+      })
+
+      loader.get().get() shouldBe "a"
+      raw = ByteBuffer.wrap("a".getBytes(StandardCharsets.UTF_8))
+      loader.get().get() shouldBe "a"
+      transformations shouldBe 1
+
+      raw = ByteBuffer.wrap("c".getBytes(StandardCharsets.UTF_8))
+      loader.get().get() shouldBe "c"
+      transformations shouldBe 2
+    }
+  }
+
+  describe("StagedResourceLoader with a fingerprint") {
+    var raw = ("v1", "a")
+    var transformations = 0
+
+    val loader = StagedResourceLoader.withFingerprint[(String, String), String](
+      () => CompletableFuture.completedFuture(raw),
+      _._1,
+      r => {
+        transformations += 1
+        r._2
+      })
+
+    it("should only transform when the fingerprint changes") {
+      loader.get().get() shouldBe "a"
+      raw = ("v1", "b")
+      loader.get().get() shouldBe "a"
+      transformations shouldBe 1
+
+      raw = ("v2", "b")
+      loader.get().get() shouldBe "b"
+      transformations shouldBe 2
+    }
+  }
+}
@@ -0,0 +1,112 @@
+package com.nike.moirai.config
+
+import java.util
+
+import com.nike.moirai.FeatureCheckInput
+import org.scalatest.prop.GeneratorDrivenPropertyChecks
+import org.scalatest.{FunSpec, Matchers}
+
+import scala.collection.JavaConverters._
+import scala.collection.mutable
+
+class CachedEnabledUsersConfigDeciderSpec extends FunSpec with Matchers with GeneratorDrivenPropertyChecks {
+  describe("A basic implementation of CachedEnabledUsersConfigDecider") {
+    class RecordingDecider extends CachedEnabledUsersConfigDecider[Map[String, Seq[String]]]() {
+      val loads = mutable.Buffer.empty[(Map[String, Seq[String]], String)]
+
+      override protected def enabledUsers(config: Map[String, Seq[String]], featureIdentifier: String): util.Collection[String] = {
+        loads += ((config, featureIdentifier))
+        config.get(featureIdentifier).map(_.asJava).getOrElse(java.util.Collections.emptyList())
+      }
+    }
+
+    val config = Map(
+      "feature1" -> Seq("a", "b"),
+      "feature2" -> Seq("c")
+    )
+
+    val updatedConfig = Map(
+      "feature1" -> Seq("d")
+    )
+
+    it("should return true for enabled users") {
+      val decider = new RecordingDecider
+
+      decider.test(new ConfigDecisionInput(config, "feature1", FeatureCheckInput.forUser("a"))) shouldBe true
+      decider.test(new ConfigDecisionInput(config, "feature1", FeatureCheckInput.forUser("b"))) shouldBe true
+      decider.test(new ConfigDecisionInput(config, "feature2", FeatureCheckInput.forUser("c"))) shouldBe true
+    }
+
+    it("should return false for any other user") {
+      val decider = new RecordingDecider
+
+      forAll { userId: String =>
+        whenever(userId != "a" && userId != "b") {
+          decider.test(new ConfigDecisionInput(config, "feature1", FeatureCheckInput.forUser(userId))) shouldBe false
+        }
+      }
+    }
+
+    it("should return false for a feature without configured users") {
+      val decider = new RecordingDecider
+
+      decider.test(new ConfigDecisionInput(config, "feature3", FeatureCheckInput.forUser("a"))) shouldBe false
+    }
+
+    it("should return false for input without a user") {
+      val decider = new RecordingDecider
+
+      decider.test(new ConfigDecisionInput(config, "feature1", FeatureCheckInput.empty())) shouldBe false
+    }
+
+    it("should only load the enabled users once per feature for the same config") {
+      val decider = new RecordingDecider
+
+      decider.test(new ConfigDecisionInput(config, "feature1", FeatureCheckInput.forUser("a"))) shouldBe true
+      decider.test(new ConfigDecisionInput(config, "feature1", FeatureCheckInput.forUser("c"))) shouldBe false
+      decider.test(new ConfigDecisionInput(config, "feature2", FeatureCheckInput.forUser("c"))) shouldBe true
+      decider.test(new ConfigDecisionInput(config, "feature2", FeatureCheckInput.forUser("a"))) shouldBe false
+
+      decider.loads shouldEqual Seq((config, "feature1"), (config, "feature2"))
+    }
+
+    it("should load the enabled users again for a different config") {
+      val decider = new RecordingDecider
+
+      decider.test(new ConfigDecisionInput(config, "feature1", FeatureCheckInput.forUser("a"))) shouldBe true
+      decider.test(new ConfigDecisionInput(updatedConfig, "feature1", FeatureCheckInput.forUser("a"))) shouldBe false
+      decider.test(new ConfigDecisionInput(updatedConfig, "feature1", FeatureCheckInput.forUser("d"))) shouldBe true
+
+      decider.loads shouldEqual Seq((config, "feature1"), (updatedConfig, "feature1"))
+    }
+
+    it("should keep the enabled users of the previous config while it is still used") {
+      val decider = new RecordingDecider
+
+      decider.test(new ConfigDecisionInput(config, "feature1", FeatureCheckInput.forUser("a"))) shouldBe true
+      decider.test(new ConfigDecisionInput(updatedConfig, "feature1", FeatureCheckInput.forUser("d"))) shouldBe true
+      decider.test(new ConfigDecisionInput(config, "feature1", FeatureCheckInput.forUser("b"))) shouldBe true
+      decider.test(new ConfigDecisionInput(updatedConfig, "feature1", FeatureCheckInput.forUser("d"))) shouldBe true
+
+      decider.loads shouldEqual Seq((config, "feature1"), (updatedConfig, "feature1"))
+    }
+
+    it("should load the enabled users again for a config older than the previous one") {
+      val decider = new RecordingDecider
+
+      val latestConfig = Map(
+        "feature1" -> Seq("e")
+      )
+
+      decider.test(new ConfigDecisionInput(config, "feature1", FeatureCheckInput.forUser("a"))) shouldBe true
+      decider.test(new ConfigDecisionInput(updatedConfig, "feature1", FeatureCheckInput.forUser("d"))) shouldBe true
+      decider.test(new ConfigDecisionInput(latestConfig, "feature1", FeatureCheckInput.forUser("e"))) shouldBe true
+
+      decider.test(new ConfigDecisionInput(updatedConfig, "feature1", FeatureCheckInput.forUser("d"))) shouldBe true
+      decider.loads.count(_ == ((updatedConfig, "feature1"))) shouldBe 1
+
+      decider.test(new ConfigDecisionInput(config, "feature1", FeatureCheckInput.forUser("a"))) shouldBe true
+      decider.loads.count(_ == ((config, "feature1"))) shouldBe 2
+    }
+  }
+}
@@ -0,0 +1,85 @@
+package com.nike.moirai.config
+
+import java.util.function.Predicate
+
+import com.nike.moirai.FeatureCheckInput
+import org.scalatest.{FunSpec, Matchers}
+
+class ConfigDeciderSpec extends FunSpec with Matchers {
+  val enabledFeatures: ConfigDecider[Set[String]] = (config: Set[String], featureIdentifier: String, _: FeatureCheckInput) =>
+    config.contains(featureIdentifier)
+
+  val hasUser: ConfigDecider[Set[String]] = (_: Set[String], _: String, featureCheckInput: FeatureCheckInput) =>
+    featureCheckInput.getUserId.isPresent
+
+  val config = Set("feature1")
+
+  describe("test with a ConfigDecisionInput") {
+    it("should decide using the parts of the input") {
+      enabledFeatures.test(new ConfigDecisionInput(config, "feature1", FeatureCheckInput.empty())) shouldBe true
+      enabledFeatures.test(new ConfigDecisionInput(config, "feature2", FeatureCheckInput.empty())) shouldBe false
+    }
+  }
+
+  describe("combining ConfigDeciders") {
+    it("should combine with and") {
+      val decider = enabledFeatures.and(hasUser)
+      decider shouldBe a[ConfigDecider[_]]
+      decider.decide(config, "feature1", FeatureCheckInput.forUser("a")) shouldBe true
+      decider.decide(config, "feature1", FeatureCheckInput.empty()) shouldBe false
+      decider.decide(config, "feature2", FeatureCheckInput.forUser("a")) shouldBe false
+    }
+
+    it("should combine with or") {
+      val decider = enabledFeatures.or(hasUser)
+      decider shouldBe a[ConfigDecider[_]]
+      decider.decide(config, "feature1", FeatureCheckInput.empty()) shouldBe true
+      decider.decide(config, "feature2", FeatureCheckInput.forUser("a")) shouldBe true
+      decider.decide(config, "feature2", FeatureCheckInput.empty()) shouldBe false
+    }
+
+    it("should negate") {
+      val decider = enabledFeatures.negate()
+      decider shouldBe a[ConfigDecider[_]]
+      decider.decide(config, "feature1", FeatureCheckInput.empty()) shouldBe false
+      decider.decide(config, "feature2", FeatureCheckInput.empty()) shouldBe true
+    }
+
+    it("should combine with a plain Predicate") {
+      val predicate: Predicate[ConfigDecisionInput[Set[String]]] = _.getFeatureIdentifier == "feature2"
+      val decider = enabledFeatures.or(predicate)
+      decider.decide(config, "feature1", FeatureCheckInput.empty()) shouldBe true
+      decider.decide(config, "feature2", FeatureCheckInput.empty()) shouldBe true
+      decider.decide(config, "feature3", FeatureCheckInput.empty()) shouldBe false
+    }
+  }
+
+  describe("forFeature") {
+    it("should decide for the feature against the config") {
+      val forFeature = enabledFeatures.forFeature(config, "feature1")
+      forFeature.test(FeatureCheckInput.empty()) shouldBe true
+      enabledFeatures.forFeature(config, "feature2").test(FeatureCheckInput.empty()) shouldBe false
+    }
+
+    it("should combine forFeature of combined ConfigDeciders") {
+      enabledFeatures.and(hasUser).forFeature(config, "feature1").test(FeatureCheckInput.forUser("a")) shouldBe true
+      enabledFeatures.and(hasUser).forFeature(config, "feature1").test(FeatureCheckInput.empty()) shouldBe false
+      enabledFeatures.or(hasUser).forFeature(config, "feature2").test(FeatureCheckInput.forUser("a")) shouldBe true
+      enabledFeatures.or(hasUser).forFeature(config, "feature2").test(FeatureCheckInput.empty()) shouldBe false
+      enabledFeatures.negate().forFeature(config, "feature2").test(FeatureCheckInput.empty()) shouldBe true
+    }
+  }
+
+  describe("from") {
+    it("should return a ConfigDecider as-is") {
+      ConfigDecider.from(enabledFeatures) should be theSameInstanceAs enabledFeatures
+    }
+
+    it("should adapt a plain Predicate") {
+      val predicate: Predicate[ConfigDecisionInput[Set[String]]] = input => input.getConfig.contains(input.getFeatureIdentifier)
+      val decider = ConfigDecider.from(predicate)
+      decider.decide(config, "feature1", FeatureCheckInput.empty()) shouldBe true
+      decider.decide(config, "feature2", FeatureCheckInput.empty()) shouldBe false
+    }
+  }
+}
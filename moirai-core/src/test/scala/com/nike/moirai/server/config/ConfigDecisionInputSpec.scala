@@ -1,12 +1,14 @@
 package com.nike.moirai.config
 
+import com.nike.moirai.FeatureCheckInput
 import nl.jqno.equalsverifier.EqualsVerifier
 import org.scalatest.{FunSpec, Matchers}
 
 class ConfigDecisionInputSpec extends FunSpec with Matchers {
   describe("ConfigDecisionInput equals and hashCode") {
     it("should satisfy their contract") {
-      EqualsVerifier.forClass(classOf[ConfigDecisionInput[Object]]).usingGetClass().verify()
+      EqualsVerifier.forClass(classOf[ConfigDecisionInput[Object]]).usingGetClass()
+        .withPrefabValues(classOf[FeatureCheckInput], FeatureCheckInput.forUser("red"), FeatureCheckInput.forUser("blue")).verify()
     }
   }
 }
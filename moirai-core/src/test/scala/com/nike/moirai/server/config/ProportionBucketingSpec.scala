@@ -0,0 +1,63 @@
+package com.nike.moirai.config
+
+import org.scalatest.prop.GeneratorDrivenPropertyChecks
+import org.scalatest.{FunSpec, Matchers}
+
+class ProportionBucketingSpec extends FunSpec with Matchers with GeneratorDrivenPropertyChecks {
+  val sequentialUserIds: Seq[String] = (1 to 100000).map(i => s"user-$i")
+
+  def enabledFraction(bucketing: ProportionBucketing, group: String, proportion: Double): Double =
+    sequentialUserIds.count(userId => bucketing.isEnabled(userId, group, proportion)) / sequentialUserIds.size.toDouble
+
+  describe("HASH_CODE bucketing") {
+    it("should have 100 buckets") {
+      ProportionBucketing.HASH_CODE.getBuckets shouldBe 100
+    }
+
+    it("should decide the same as the hashCode of the userId concatenated with the group") {
+      forAll { (userId: String, group: String, proportion: Double) =>
+        val expected = (Math.abs((userId + group).hashCode) % 100) / 100.0 < proportion
+        ProportionBucketing.HASH_CODE.isEnabled(userId, group, proportion) shouldBe expected
+      }
+    }
+  }
+
+  describe("MURMUR3 bucketing") {
+    it("should have 10,000 buckets") {
+      ProportionBucketing.MURMUR3.getBuckets shouldBe 10000
+    }
+
+    it("should assign every user to a bucket in range") {
+      forAll { (userId: String, group: String) =>
+        val bucket = ProportionBucketing.MURMUR3.bucket(ProportionBucketing.MURMUR3.hashUserId(userId), ProportionBucketing.MURMUR3.hashGroup(group))
+        bucket should (be >= 0 and be < 10000)
+      }
+    }
+
+    it("should enable the proportion of sequential users") {
+      enabledFraction(ProportionBucketing.MURMUR3, "feature", 0.3) should be (0.3 +- 0.01)
+      enabledFraction(ProportionBucketing.MURMUR3, "feature", 0.7) should be (0.7 +- 0.01)
+    }
+
+    it("should enable proportions finer than a percent") {
+      enabledFraction(ProportionBucketing.MURMUR3, "feature", 0.0005) should be (0.0005 +- 0.0003)
+      enabledFraction(ProportionBucketing.MURMUR3, "feature", 0.0) shouldBe 0.0
+      enabledFraction(ProportionBucketing.MURMUR3, "feature", 1.0) shouldBe 1.0
+    }
+
+    it("should keep users enabled when the proportion grows") {
+      forAll { (userId: String, group: String) =>
+        if (ProportionBucketing.MURMUR3.isEnabled(userId, group, 0.25)) {
+          ProportionBucketing.MURMUR3.isEnabled(userId, group, 0.5) shouldBe true
+        }
+      }
+    }
+
+    it("should enable different users for different groups") {
+      val group1 = sequentialUserIds.filter(ProportionBucketing.MURMUR3.isEnabled(_, "group1", 0.5)).toSet
+      val group2 = sequentialUserIds.filter(ProportionBucketing.MURMUR3.isEnabled(_, "group2", 0.5)).toSet
+
+      (group1 intersect group2).size / sequentialUserIds.size.toDouble should be (0.25 +- 0.01)
+    }
+  }
+}
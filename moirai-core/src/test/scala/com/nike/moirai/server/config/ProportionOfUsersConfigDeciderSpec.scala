@@ -61,6 +61,44 @@ class ProportionOfUsersConfigDeciderSpec extends FunSpec with Matchers with Gene
       }
     }
 
+    describe("forFeature") {
+      it("should decide the same as for each input") {
+        Seq("feature1", "feature2", "feature3", "feature4").foreach { feature =>
+          val forFeature = decider.forFeature(config, feature)
+
+          forAll { (userId: String) =>
+            val input = FeatureCheckInput.forUser(userId)
+            forFeature.test(input) shouldBe decider.test(new ConfigDecisionInput(config, feature, input))
+          }
+        }
+      }
+    }
+
+    describe("with MURMUR3 bucketing") {
+      val murmurDecider = new ProportionOfUsersConfigDecider[Map[String, Double]](ProportionBucketing.MURMUR3) {
+        override protected def enabledProportion(config: Map[String, Double], featureIdentifier: String): Optional[lang.Double] =
+          config.get(featureIdentifier).map(Double.box).asJava
+
+        override protected def featureGroup(config: Map[String, Double], featureIdentifier: String): Optional[String] = Optional.empty()
+      }
+
+      it("should return true for approximately 70% of users") {
+        val userIds = (1 to 10000).map(_.toString)
+        val enabled = userIds.count(userId => murmurDecider.test(new ConfigDecisionInput(config, "feature3", FeatureCheckInput.forUser(userId))))
+
+        enabled / userIds.size.toDouble should be (0.7 +- 0.02)
+      }
+
+      it("should decide the same with forFeature as for each input") {
+        val forFeature = murmurDecider.forFeature(config, "feature3")
+
+        forAll { (userId: String) =>
+          val input = FeatureCheckInput.forUser(userId)
+          forFeature.test(input) shouldBe murmurDecider.test(new ConfigDecisionInput(config, "feature3", input))
+        }
+      }
+    }
+
     describe("a feature without a configured proportion") {
       val feature = "feature4"
 
@@ -33,7 +33,7 @@ public class Main {
                 } catch(Exception e) {
                     throw new RuntimeException(e);
                 }
-                Supplier<Config> supp = Suppliers.supplierAndThen(() -> conf, TypesafeConfigReader.FROM_STRING);
+                Supplier<Config> supp = Suppliers.memoizedSupplierAndThen(() -> conf, TypesafeConfigReader.FROM_STRING);
                 return ConfigFeatureFlagChecker.forConfigSupplier(supp, whiteListedUsersDecider);
         }
         private final Collection<Endpoint<?>> endpoints = Collections.singleton(new GetShoeListEndpoint(featureFlagChecker()));
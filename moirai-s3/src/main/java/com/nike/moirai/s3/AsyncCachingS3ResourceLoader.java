@@ -0,0 +1,100 @@
+package com.nike.moirai.s3;
+
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Supplies the contents of an object in S3 as a string using UTF-8 encoding, reading the object with an {@link S3AsyncClient}.
+ * Caches object content and uses S3's ETag constraint to reduce object reads when the object contents have not changed. This is the
+ * asynchronous counterpart of {@link CachingS3ResourceLoader}, and a drop-in replacement for {@link AsyncS3ResourceLoader}.
+ */
+public class AsyncCachingS3ResourceLoader implements Supplier<CompletableFuture<String>> {
+    private final S3AsyncClient s3AsyncClient;
+    private final String bucket;
+    private final String key;
+
+    private static class CachedObject {
+        final String content;
+        final String eTag;
+
+        CachedObject(String content, String eTag) {
+            this.content = content;
+            this.eTag = eTag;
+        }
+    }
+
+    /**
+     * the last successful read from S3. null when the object has never been read.
+     */
+    private volatile CachedObject cachedObject = null;
+
+    /**
+     * Creates an AsyncCachingS3ResourceLoader for the given S3 location
+     *
+     * @param bucket the bucket for the S3 resource
+     * @param key the key within the bucket for the S3 resource
+     * @return a supplier for the S3 resource as a string
+     */
+    public static AsyncCachingS3ResourceLoader withDefaultCredentials(String bucket, String key) {
+        return new AsyncCachingS3ResourceLoader(S3AsyncClient.create(), bucket, key);
+    }
+
+    /**
+     * Creates an AsyncCachingS3ResourceLoader using the provided client for the given S3 location
+     *
+     * @param s3AsyncClient the S3 client to use
+     * @param bucket the bucket for the S3 resource
+     * @param key the key within the bucket for the S3 resource
+     * @return a supplier for the S3 resource as a string
+     */
+    public static AsyncCachingS3ResourceLoader withS3AsyncClient(S3AsyncClient s3AsyncClient, String bucket, String key) {
+        return new AsyncCachingS3ResourceLoader(s3AsyncClient, bucket, key);
+    }
+
+    private AsyncCachingS3ResourceLoader(S3AsyncClient s3AsyncClient, String bucket, String key) {
+        this.s3AsyncClient = s3AsyncClient;
+        this.bucket = bucket;
+        this.key = key;
+    }
+
+    @Override
+    public CompletableFuture<String> get() {
+        CachedObject cached = cachedObject;
+
+        GetObjectRequest.Builder requestBuilder = GetObjectRequest.builder().bucket(bucket).key(key);
+        if (cached != null) {
+            requestBuilder.ifNoneMatch(cached.eTag);
+        }
+
+        return s3AsyncClient.getObject(requestBuilder.build(), AsyncResponseTransformer.toBytes())
+            .handle((responseBytes, error) -> {
+                if (error == null) {
+                    return cacheAndReturnObject(responseBytes);
+                }
+
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+
+                if (cached != null && cause instanceof S3Exception && ((S3Exception) cause).statusCode() == 304) {
+                    return cached.content;
+                }
+
+                throw error instanceof CompletionException ? (CompletionException) error : new CompletionException(error);
+            });
+    }
+
+    private String cacheAndReturnObject(ResponseBytes<GetObjectResponse> responseBytes) {
+        String eTag = responseBytes.response().eTag();
+        String content = responseBytes.asUtf8String();
+
+        cachedObject = new CachedObject(content, eTag);
+        return content;
+    }
+}
@@ -0,0 +1,55 @@
+package com.nike.moirai.s3;
+
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Supplies the contents of an object in S3 as a string using UTF-8 encoding, reading the object with an {@link S3AsyncClient} so
+ * that no thread is blocked while the object is downloaded. This is the asynchronous counterpart of {@link S3ResourceLoader}, and
+ * can be used as the resource loader of a {@link com.nike.moirai.resource.reload.ResourceReloader} without
+ * {@link com.nike.moirai.Suppliers#async}.
+ */
+public class AsyncS3ResourceLoader implements Supplier<CompletableFuture<String>> {
+    private final S3AsyncClient s3AsyncClient;
+    private final String bucket;
+    private final String key;
+
+    /**
+     * Creates an AsyncS3ResourceLoader for the given S3 location
+     *
+     * @param bucket the bucket for the S3 resource
+     * @param key the key within the bucket for the S3 resource
+     * @return a supplier for the S3 resource as a string
+     */
+    public static AsyncS3ResourceLoader withDefaultCredentials(String bucket, String key) {
+        return new AsyncS3ResourceLoader(S3AsyncClient.create(), bucket, key);
+    }
+
+    /**
+     * Creates an AsyncS3ResourceLoader using the provided client for the given S3 location
+     *
+     * @param s3AsyncClient the S3 client to use
+     * @param bucket the bucket for the S3 resource
+     * @param key the key within the bucket for the S3 resource
+     * @return a supplier for the S3 resource as a string
+     */
+    public static AsyncS3ResourceLoader withS3AsyncClient(S3AsyncClient s3AsyncClient, String bucket, String key) {
+        return new AsyncS3ResourceLoader(s3AsyncClient, bucket, key);
+    }
+
+    private AsyncS3ResourceLoader(S3AsyncClient s3AsyncClient, String bucket, String key) {
+        this.s3AsyncClient = s3AsyncClient;
+        this.bucket = bucket;
+        this.key = key;
+    }
+
+    @Override
+    public CompletableFuture<String> get() {
+        return s3AsyncClient.getObject(GetObjectRequest.builder().bucket(bucket).key(key).build(), AsyncResponseTransformer.toBytes())
+            .thenApply(responseBytes -> responseBytes.asUtf8String());
+    }
+}
@@ -0,0 +1,144 @@
+package com.nike.moirai.s3;
+
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Supplies the contents of an object in S3 as {@link S3ObjectBytes}. Like {@link CachingS3ResourceLoader}, it caches the object and
+ * uses S3's ETag constraint to reduce object reads when the object contents have not changed, but it caches the bytes of the object
+ * instead of decoding them into a String, optionally gzip-compressed. Parsers can read the content with
+ * {@link S3ObjectBytes#openStream()} or {@link S3ObjectBytes#asByteBuffer()}, so a large object is not copied into a String on each
+ * change.
+ * <p>
+ * The same {@link S3ObjectBytes} instance is returned while the object is unchanged, so values derived from it with
+ * {@link com.nike.moirai.Suppliers#memoizedSupplierAndThen} are not parsed again.
+ */
+public class CachingS3BytesResourceLoader implements Supplier<S3ObjectBytes> {
+    private final S3Client s3Client;
+    private final String bucket;
+    private final String key;
+    private final boolean compress;
+
+    /**
+     * the last successful read from S3. null when the object has never been read.
+     */
+    private volatile S3ObjectBytes cachedObject = null;
+
+    /**
+     * Creates a CachingS3BytesResourceLoader for the given S3 location
+     *
+     * @param bucket the bucket for the S3 resource
+     * @param key the key within the bucket for the S3 resource
+     * @return a supplier for the S3 resource as bytes
+     */
+    public static CachingS3BytesResourceLoader withDefaultCredentials(String bucket, String key) {
+        return new CachingS3BytesResourceLoader(S3Client.create(), bucket, key, false);
+    }
+
+    /**
+     * Creates a CachingS3BytesResourceLoader using the provided client for the given S3 location
+     *
+     * @param s3Client the S3 client to use
+     * @param bucket the bucket for the S3 resource
+     * @param key the key within the bucket for the S3 resource
+     * @return a supplier for the S3 resource as bytes
+     */
+    public static CachingS3BytesResourceLoader withS3Client(S3Client s3Client, String bucket, String key) {
+        return new CachingS3BytesResourceLoader(s3Client, bucket, key, false);
+    }
+
+    /**
+     * Creates a CachingS3BytesResourceLoader using the provided client for the given S3 location, which keeps the cached bytes
+     * gzip-compressed. This reduces the memory used by the cache of a large object, at the cost of compressing the object when it
+     * changes and decompressing it whenever it is read.
+     *
+     * @param s3Client the S3 client to use
+     * @param bucket the bucket for the S3 resource
+     * @param key the key within the bucket for the S3 resource
+     * @return a supplier for the S3 resource as compressed bytes
+     */
+    public static CachingS3BytesResourceLoader withCompressedCache(S3Client s3Client, String bucket, String key) {
+        return new CachingS3BytesResourceLoader(s3Client, bucket, key, true);
+    }
+
+    /**
+     * Creates a CachingS3BytesResourceLoader for the given S3 location, which keeps the cached bytes gzip-compressed.
+     *
+     * @param bucket the bucket for the S3 resource
+     * @param key the key within the bucket for the S3 resource
+     * @return a supplier for the S3 resource as compressed bytes
+     * @see #withCompressedCache(S3Client, String, String)
+     */
+    public static CachingS3BytesResourceLoader withCompressedCache(String bucket, String key) {
+        return withCompressedCache(S3Client.create(), bucket, key);
+    }
+
+    private CachingS3BytesResourceLoader(S3Client s3Client, String bucket, String key, boolean compress) {
+        this.s3Client = s3Client;
+        this.bucket = bucket;
+        this.key = key;
+        this.compress = compress;
+    }
+
+    @Override
+    public S3ObjectBytes get() {
+        S3ObjectBytes cached = cachedObject;
+
+        GetObjectRequest.Builder requestBuilder = GetObjectRequest.builder().bucket(bucket).key(key);
+        if (cached != null) {
+            requestBuilder.ifNoneMatch(cached.getETag());
+        }
+
+        try {
+            ResponseBytes<GetObjectResponse> responseBytes = s3Client.getObjectAsBytes(requestBuilder.build());
+            return cacheAndReturnObject(cached, responseBytes);
+        } catch (S3Exception s3Exception) {
+            if (cached != null && s3Exception.statusCode() == 304) {
+                return cached;
+            }
+
+            throw s3Exception;
+        }
+    }
+
+    private S3ObjectBytes cacheAndReturnObject(S3ObjectBytes cached, ResponseBytes<GetObjectResponse> responseBytes) {
+        String eTag = responseBytes.response().eTag();
+
+        if (cached != null && eTag != null && eTag.equals(cached.getETag())) {
+            return cached;
+        }
+
+        ByteBuffer bytes = compress ? gzip(responseBytes.asByteBuffer()) : responseBytes.asByteBuffer();
+        S3ObjectBytes object = new S3ObjectBytes(bytes, eTag, compress);
+
+        cachedObject = object;
+        return object;
+    }
+
+    private static ByteBuffer gzip(ByteBuffer bytes) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(bytes.remaining() / 4, 512));
+        byte[] chunk = new byte[8192];
+
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            while (bytes.hasRemaining()) {
+                int length = Math.min(chunk.length, bytes.remaining());
+                bytes.get(chunk, 0, length);
+                gzip.write(chunk, 0, length);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error compressing S3 object content", e);
+        }
+
+        return ByteBuffer.wrap(compressed.toByteArray());
+    }
+}
@@ -1,22 +1,55 @@
 package com.nike.moirai.s3;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import software.amazon.awssdk.core.ResponseBytes;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
 import software.amazon.awssdk.services.s3.model.S3Exception;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
 import java.util.function.Supplier;
 
 /**
  * Supplies the contents of an object in S3 as a string using UTF-8 encoding. Caches object content and uses S3's ETag
  * constraint to reduce object reads when the object contents have not changed. This is intended as a drop-in
  * replacement for {@link S3ResourceLoader}.
+ * <p>
+ * When the object has not changed, the same string instance is returned again, so values derived from it with
+ * {@link com.nike.moirai.Suppliers#memoizedSupplierAndThen} are not parsed again, and {@link #isChangedSinceLastLoad()} tells whether
+ * the last call returned new content.
+ * <p>
+ * By default an unchanged object is detected by a conditional GET, which S3 answers with a 304 that the client reports as an
+ * {@link S3Exception}. A loader created by {@link #withHeadProbe(S3Client, String, String)} instead compares the ETag from a HEAD
+ * request with the cached one, so polling an unchanged object does not create an exception, at the cost of a second request when the
+ * object has changed.
+ * <p>
+ * A loader created by {@link #withDiskCache(S3Client, String, String, File)} also keeps the last object read from S3, with its ETag,
+ * in a local file. When a new instance starts, the object is read from that file by {@link #getCachedContent()}, which can provide
+ * the initial value of a {@link com.nike.moirai.resource.reload.ResourceReloader} right away, and the first read from S3 only
+ * downloads the object if it has changed since it was written to the file. A loader created by
+ * {@link #withHeadProbeAndDiskCache(S3Client, String, String, File)} does both, so the first read only makes a HEAD request if the
+ * object on the disk is current.
  */
 public class CachingS3ResourceLoader implements Supplier<String> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CachingS3ResourceLoader.class);
+
+    private static final String ETAG_FILE_SUFFIX = ".etag";
+
     private final S3Client s3Client;
     private final String bucket;
     private final String key;
+    private final boolean headProbe;
+    private final Path diskCacheFile;
 
     private static class CachedObject {
         final String content;
@@ -33,6 +66,11 @@ public class CachingS3ResourceLoader implements Supplier<String> {
      */
     private volatile CachedObject cachedObject = null;
 
+    private volatile boolean changedSinceLastLoad = false;
+
+    // Whether get() has returned content yet, as the first content it returns is new to its caller even if it came from the disk cache
+    private volatile boolean returnedContent = false;
+
     /**
      * Creates an S3ResourceLoader for the given S3 location
      *
@@ -41,7 +79,7 @@ public class CachingS3ResourceLoader implements Supplier<String> {
      * @return a supplier for the S3 resource as a string
      */
     public static CachingS3ResourceLoader withDefaultCredentials(String bucket, String key) {
-        return new CachingS3ResourceLoader(S3Client.create(), bucket, key);
+        return new CachingS3ResourceLoader(S3Client.create(), bucket, key, false, null);
     }
 
     /**
@@ -53,17 +91,138 @@ public class CachingS3ResourceLoader implements Supplier<String> {
      * @return a supplier for the S3 resource as a string
      */
     public static CachingS3ResourceLoader withS3Client(S3Client s3Client, String bucket, String key) {
-        return new CachingS3ResourceLoader(s3Client, bucket, key);
+        return new CachingS3ResourceLoader(s3Client, bucket, key, false, null);
+    }
+
+    /**
+     * Creates an S3ResourceLoader for the given S3 location, which checks whether the object has changed with a HEAD request before
+     * reading it.
+     *
+     * @param bucket the bucket for the S3 resource
+     * @param key the key within the bucket for the S3 resource
+     * @return a supplier for the S3 resource as a string
+     */
+    public static CachingS3ResourceLoader withHeadProbe(String bucket, String key) {
+        return withHeadProbe(S3Client.create(), bucket, key);
+    }
+
+    /**
+     * Creates an S3ResourceLoader using the provided client for the given S3 location, which checks whether the object has changed
+     * with a HEAD request before reading it.
+     *
+     * @param s3Client the S3 client to use
+     * @param bucket the bucket for the S3 resource
+     * @param key the key within the bucket for the S3 resource
+     * @return a supplier for the S3 resource as a string
+     */
+    public static CachingS3ResourceLoader withHeadProbe(S3Client s3Client, String bucket, String key) {
+        return new CachingS3ResourceLoader(s3Client, bucket, key, true, null);
+    }
+
+    /**
+     * Creates an S3ResourceLoader using the provided client for the given S3 location, which keeps the last object read from S3 in
+     * the given file, along with its ETag in a file of the same name with an ".etag" suffix. If the files exist, the object in them is
+     * cached right away.
+     *
+     * @param s3Client the S3 client to use
+     * @param bucket the bucket for the S3 resource
+     * @param key the key within the bucket for the S3 resource
+     * @param cacheFile the file to keep the object in, which may not exist yet
+     * @return a supplier for the S3 resource as a string
+     */
+    public static CachingS3ResourceLoader withDiskCache(S3Client s3Client, String bucket, String key, File cacheFile) {
+        return new CachingS3ResourceLoader(s3Client, bucket, key, false, cacheFile.toPath().toAbsolutePath());
+    }
+
+    /**
+     * Creates an S3ResourceLoader for the given S3 location, which keeps the last object read from S3 in the given file, along with
+     * its ETag in a file of the same name with an ".etag" suffix. If the files exist, the object in them is cached right away.
+     *
+     * @param bucket the bucket for the S3 resource
+     * @param key the key within the bucket for the S3 resource
+     * @param cacheFile the file to keep the object in, which may not exist yet
+     * @return a supplier for the S3 resource as a string
+     */
+    public static CachingS3ResourceLoader withDiskCache(String bucket, String key, File cacheFile) {
+        return withDiskCache(S3Client.create(), bucket, key, cacheFile);
+    }
+
+    /**
+     * Creates an S3ResourceLoader using the provided client for the given S3 location, which keeps the last object read from S3 in
+     * the given file like {@link #withDiskCache(S3Client, String, String, File)}, and checks whether the object has changed with a
+     * HEAD request before reading it like {@link #withHeadProbe(S3Client, String, String)}.
+     *
+     * @param s3Client the S3 client to use
+     * @param bucket the bucket for the S3 resource
+     * @param key the key within the bucket for the S3 resource
+     * @param cacheFile the file to keep the object in, which may not exist yet
+     * @return a supplier for the S3 resource as a string
+     */
+    public static CachingS3ResourceLoader withHeadProbeAndDiskCache(S3Client s3Client, String bucket, String key, File cacheFile) {
+        return new CachingS3ResourceLoader(s3Client, bucket, key, true, cacheFile.toPath().toAbsolutePath());
+    }
+
+    /**
+     * Creates an S3ResourceLoader for the given S3 location, which keeps the last object read from S3 in the given file like
+     * {@link #withDiskCache(String, String, File)}, and checks whether the object has changed with a HEAD request before reading it
+     * like {@link #withHeadProbe(String, String)}.
+     *
+     * @param bucket the bucket for the S3 resource
+     * @param key the key within the bucket for the S3 resource
+     * @param cacheFile the file to keep the object in, which may not exist yet
+     * @return a supplier for the S3 resource as a string
+     */
+    public static CachingS3ResourceLoader withHeadProbeAndDiskCache(String bucket, String key, File cacheFile) {
+        return withHeadProbeAndDiskCache(S3Client.create(), bucket, key, cacheFile);
     }
 
-    private CachingS3ResourceLoader(S3Client s3Client, String bucket, String key) {
+    private CachingS3ResourceLoader(S3Client s3Client, String bucket, String key, boolean headProbe, Path diskCacheFile) {
         this.s3Client = s3Client;
         this.bucket = bucket;
         this.key = key;
+        this.headProbe = headProbe;
+        this.diskCacheFile = diskCacheFile;
+
+        if (diskCacheFile != null) {
+            this.cachedObject = readDiskCache(diskCacheFile);
+        }
+    }
+
+    /**
+     * Gets the cached content without reading from S3, for instance to create the initial value of a
+     * {@link com.nike.moirai.resource.reload.ResourceReloader} that reloads the object with this loader.
+     *
+     * @return the content last read from S3, or read from the disk cache; empty if there is none
+     */
+    public Optional<String> getCachedContent() {
+        CachedObject cached = cachedObject;
+        return cached == null ? Optional.empty() : Optional.of(cached.content);
+    }
+
+    /**
+     * @return true if the last call to {@link #get()} returned content that is different from the content it returned before, or
+     * was the first call to return content, even if that content was read from the disk cache
+     */
+    public boolean isChangedSinceLastLoad() {
+        return changedSinceLastLoad;
     }
 
     @Override
     public String get() {
+        CachedObject cached = cachedObject;
+
+        if (headProbe && cached != null && cached.eTag != null && cached.eTag.equals(headETag())) {
+            return returnCached(cached);
+        }
+
+        return getObject();
+    }
+
+    private String headETag() {
+        return s3Client.headObject(HeadObjectRequest.builder().bucket(bucket).key(key).build()).eTag();
+    }
+
+    private String getObject() {
         GetObjectRequest.Builder requestBuilder = GetObjectRequest.builder().bucket(bucket).key(key);
         if (cachedObject != null) {
             requestBuilder.ifNoneMatch(cachedObject.eTag);
@@ -74,7 +233,7 @@ public class CachingS3ResourceLoader implements Supplier<String> {
             return cacheAndReturnObject(responseBytes);
         } catch (S3Exception s3Exception) {
             if (s3Exception.statusCode() == 304) {
-                return cachedObject.content;
+                return returnCached(cachedObject);
             }
 
             throw s3Exception;
@@ -83,9 +242,85 @@ public class CachingS3ResourceLoader implements Supplier<String> {
 
     private String cacheAndReturnObject(ResponseBytes<GetObjectResponse> responseBytes) {
         String eTag = responseBytes.response().eTag();
+        CachedObject cached = cachedObject;
+
+        if (cached != null && eTag != null && eTag.equals(cached.eTag)) {
+            return returnCached(cached);
+        }
+
         String content = responseBytes.asUtf8String();
 
         cachedObject = new CachedObject(content, eTag);
+        changedSinceLastLoad = true;
+        returnedContent = true;
+
+        if (diskCacheFile != null) {
+            writeDiskCache(diskCacheFile, content, eTag);
+        }
+
         return content;
     }
+
+    private String returnCached(CachedObject cached) {
+        changedSinceLastLoad = !returnedContent;
+        returnedContent = true;
+        return cached.content;
+    }
+
+    private static CachedObject readDiskCache(Path file) {
+        Path eTagFile = eTagFile(file);
+
+        if (!Files.isRegularFile(file) || !Files.isRegularFile(eTagFile)) {
+            return null;
+        }
+
+        try {
+            String eTag = new String(Files.readAllBytes(eTagFile), StandardCharsets.UTF_8);
+            String content = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+
+            return new CachedObject(content, eTag);
+        } catch (IOException e) {
+            LOGGER.warn("Unable to read S3 object from disk cache " + file, e);
+            return null;
+        }
+    }
+
+    private static void writeDiskCache(Path file, String content, String eTag) {
+        Path eTagFile = eTagFile(file);
+
+        try {
+            // Without the ETag, a partially written cache is ignored at the next start instead of being mistaken for the object
+            Files.deleteIfExists(eTagFile);
+            writeAtomically(file, content.getBytes(StandardCharsets.UTF_8));
+
+            if (eTag != null) {
+                writeAtomically(eTagFile, eTag.getBytes(StandardCharsets.UTF_8));
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Unable to write S3 object to disk cache " + file, e);
+        }
+    }
+
+    private static void writeAtomically(Path file, byte[] bytes) throws IOException {
+        Path parent = file.getParent();
+        Files.createDirectories(parent);
+
+        Path tempFile = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+
+        try {
+            Files.write(tempFile, bytes);
+
+            try {
+                Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    private static Path eTagFile(Path file) {
+        return file.resolveSibling(file.getFileName() + ETAG_FILE_SUFFIX);
+    }
 }
@@ -0,0 +1,90 @@
+package com.nike.moirai.s3;
+
+import com.nike.moirai.resource.ByteBufferInputStream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * The content of an object read from S3 by a {@link CachingS3BytesResourceLoader}, kept as bytes rather than as a decoded String.
+ * The content may be kept gzip-compressed, in which case it is decompressed while it is read.
+ */
+public final class S3ObjectBytes {
+    private static final int BUFFER_SIZE = 8192;
+
+    private final ByteBuffer bytes;
+    private final String eTag;
+    private final boolean compressed;
+
+    S3ObjectBytes(ByteBuffer bytes, String eTag, boolean compressed) {
+        this.bytes = bytes.asReadOnlyBuffer();
+        this.eTag = eTag;
+        this.compressed = compressed;
+    }
+
+    /**
+     * @return the ETag of the object
+     */
+    public String getETag() {
+        return eTag;
+    }
+
+    /**
+     * @return true if the content is kept gzip-compressed
+     */
+    public boolean isCompressed() {
+        return compressed;
+    }
+
+    /**
+     * Opens a stream over the content. Several streams can be open at the same time. A compressed content is decompressed as the
+     * stream is read, so it is never held in memory uncompressed.
+     *
+     * @return a new stream over the content
+     */
+    public InputStream openStream() {
+        InputStream stream = new ByteBufferInputStream(bytes);
+
+        if (!compressed) {
+            return stream;
+        }
+
+        try {
+            return new GZIPInputStream(stream, BUFFER_SIZE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error decompressing S3 object content", e);
+        }
+    }
+
+    /**
+     * Gets the content as a read-only buffer, for instance to parse with
+     * {@code TypesafeConfigReader.FROM_BYTE_BUFFER}. An uncompressed content is returned without being copied, while a compressed
+     * content is decompressed into a new buffer on each call.
+     *
+     * @return a read-only buffer of the uncompressed content
+     */
+    public ByteBuffer asByteBuffer() {
+        if (!compressed) {
+            return bytes.duplicate();
+        }
+
+        ByteArrayOutputStream decompressed = new ByteArrayOutputStream(Math.max(bytes.remaining() * 4, BUFFER_SIZE));
+
+        try (InputStream stream = openStream()) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int read;
+
+            while ((read = stream.read(buffer)) != -1) {
+                decompressed.write(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error decompressing S3 object content", e);
+        }
+
+        return ByteBuffer.wrap(decompressed.toByteArray()).asReadOnlyBuffer();
+    }
+}
@@ -0,0 +1,72 @@
+package com.nike.moirai.s3
+
+import java.util.concurrent.ExecutionException
+
+import org.scalatest.{FunSpec, Matchers}
+
+class AsyncCachingS3ResourceLoaderSpec extends FunSpec with Matchers {
+  import StubS3AsyncClient._
+
+  val bucket = "foo.bar.com"
+  val objectKey = "folder/file.txt"
+
+  val content1 = "content version 1"
+  val content2 = "content version 2"
+
+  describe("AsyncCachingS3ResourceLoader") {
+    it("should read the file from the S3 client") {
+      val s3Client = new StubS3AsyncClient(content(content1))
+      val cacher = AsyncCachingS3ResourceLoader.withS3AsyncClient(s3Client, bucket, objectKey)
+
+      cacher.get().get() shouldEqual content1
+
+      s3Client.requests.head.bucket() shouldEqual bucket
+      s3Client.requests.head.key() shouldEqual objectKey
+      s3Client.requests.head.ifNoneMatch() shouldBe null
+    }
+
+    it("should fail when S3 does not return new content before the file has been read") {
+      val s3Client = new StubS3AsyncClient(notModified)
+      val cacher = AsyncCachingS3ResourceLoader.withS3AsyncClient(s3Client, bucket, objectKey)
+
+      intercept[ExecutionException](cacher.get().get())
+    }
+
+    describe("after the file has already been read once") {
+      it("should return cached content when S3 does not return new content") {
+        val s3Client = new StubS3AsyncClient(content(content1), notModified)
+        val cacher = AsyncCachingS3ResourceLoader.withS3AsyncClient(s3Client, bucket, objectKey)
+
+        cacher.get().get() shouldEqual content1
+        cacher.get().get() shouldEqual content1
+
+        s3Client.requests(1).ifNoneMatch() shouldBe eTag(content1)
+      }
+
+      it("should return new content when S3 returns new content") {
+        val s3Client = new StubS3AsyncClient(content(content1), content(content2), notModified)
+        val cacher = AsyncCachingS3ResourceLoader.withS3AsyncClient(s3Client, bucket, objectKey)
+
+        cacher.get().get() shouldEqual content1
+        cacher.get().get() shouldEqual content2
+        cacher.get().get() shouldEqual content2
+
+        s3Client.requests(1).ifNoneMatch() shouldBe eTag(content1)
+        s3Client.requests(2).ifNoneMatch() shouldBe eTag(content2)
+      }
+
+      it("should resume returning cached content after S3 fails") {
+        val s3Client = new StubS3AsyncClient(content(content1), failure(new RuntimeException("Mock S3 Exception")), notModified)
+        val cacher = AsyncCachingS3ResourceLoader.withS3AsyncClient(s3Client, bucket, objectKey)
+
+        cacher.get().get() shouldEqual content1
+
+        val e = intercept[ExecutionException](cacher.get().get())
+        e.getCause.getMessage shouldEqual "Mock S3 Exception"
+
+        cacher.get().get() shouldEqual content1
+        s3Client.requests(2).ifNoneMatch() shouldBe eTag(content1)
+      }
+    }
+  }
+}
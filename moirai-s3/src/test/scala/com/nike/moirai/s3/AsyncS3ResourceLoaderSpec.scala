@@ -0,0 +1,33 @@
+package com.nike.moirai.s3
+
+import java.util.concurrent.ExecutionException
+
+import org.scalatest.{FunSpec, Matchers}
+
+class AsyncS3ResourceLoaderSpec extends FunSpec with Matchers {
+  import StubS3AsyncClient._
+
+  val bucket = "foo.bar.com"
+  val objectKey = "folder/file.txt"
+
+  describe("AsyncS3ResourceLoader") {
+    it("should read the file from the S3 client") {
+      val s3Client = new StubS3AsyncClient(content("some content\non multiple\nlines"))
+      val loader = AsyncS3ResourceLoader.withS3AsyncClient(s3Client, bucket, objectKey)
+
+      loader.get().get() shouldEqual "some content\non multiple\nlines"
+
+      s3Client.requests.head.bucket() shouldEqual bucket
+      s3Client.requests.head.key() shouldEqual objectKey
+      s3Client.requests.head.ifNoneMatch() shouldBe null
+    }
+
+    it("should fail the future when the S3 client fails") {
+      val s3Client = new StubS3AsyncClient(failure(new RuntimeException("Mock S3 Exception")))
+      val loader = AsyncS3ResourceLoader.withS3AsyncClient(s3Client, bucket, objectKey)
+
+      val e = intercept[ExecutionException](loader.get().get())
+      e.getCause.getMessage shouldEqual "Mock S3 Exception"
+    }
+  }
+}
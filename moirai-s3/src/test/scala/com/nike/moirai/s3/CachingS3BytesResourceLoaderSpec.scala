@@ -0,0 +1,93 @@
+package com.nike.moirai.s3
+
+import java.nio.charset.StandardCharsets
+
+import org.scalamock.handlers.CallHandler1
+import org.scalamock.scalatest.MockFactory
+import org.scalatest.{FunSpec, Matchers}
+import software.amazon.awssdk.core.ResponseBytes
+import software.amazon.awssdk.services.s3.S3Client
+import software.amazon.awssdk.services.s3.model.{GetObjectRequest, GetObjectResponse, S3Exception}
+
+import scala.io.Source
+
+class CachingS3BytesResourceLoaderSpec extends FunSpec with Matchers with MockFactory {
+
+  val bucket = "foo.bar.com"
+  val objectKey = "folder/file.txt"
+
+  val content1 = "content version 1\n" * 100
+  val content2 = "content version 2\n" * 100
+
+  def eTag(content: String): String = {
+    content.hashCode.toString
+  }
+
+  def expectSingleGetObjectRequest(s3Client: S3Client)(requestAssertions: GetObjectRequest => Unit)(returnedContent: => Option[String]): CallHandler1[GetObjectRequest, ResponseBytes[GetObjectResponse]] = {
+    (s3Client.getObjectAsBytes(_: GetObjectRequest)).when(*).once().onCall { request: GetObjectRequest =>
+      requestAssertions(request)
+      returnedContent
+        .map(content => ResponseBytes.fromByteArray(GetObjectResponse.builder().eTag(eTag(content)).build(), content.getBytes("UTF-8")))
+        .getOrElse(throw S3Exception.builder().statusCode(304).build())
+    }
+  }
+
+  def streamed(bytes: S3ObjectBytes): String = {
+    val stream = bytes.openStream()
+    try Source.fromInputStream(stream, "UTF-8").mkString finally stream.close()
+  }
+
+  def buffered(bytes: S3ObjectBytes): String = {
+    StandardCharsets.UTF_8.decode(bytes.asByteBuffer()).toString
+  }
+
+  describe("CachingS3BytesResourceLoader") {
+    Seq(false, true).foreach { compressed =>
+      def loader(s3Client: S3Client) =
+        if (compressed) CachingS3BytesResourceLoader.withCompressedCache(s3Client, bucket, objectKey)
+        else CachingS3BytesResourceLoader.withS3Client(s3Client, bucket, objectKey)
+
+      describe(if (compressed) "with a compressed cache" else "with an uncompressed cache") {
+        it("should read the file from the S3 client as a stream and as a buffer") {
+          val s3Client = stub[S3Client]
+          val cacher = loader(s3Client)
+
+          expectSingleGetObjectRequest(s3Client) { request =>
+            request.bucket() shouldEqual bucket
+            request.key() shouldEqual objectKey
+            request.ifNoneMatch() shouldBe null
+          }(Some(content1))
+
+          val bytes = cacher.get()
+          bytes.isCompressed shouldBe compressed
+          bytes.getETag shouldEqual eTag(content1)
+          streamed(bytes) shouldEqual content1
+          buffered(bytes) shouldEqual content1
+          streamed(bytes) shouldEqual content1
+        }
+
+        it("should return the same instance when S3 does not return new content") {
+          val s3Client = stub[S3Client]
+          val cacher = loader(s3Client)
+
+          expectSingleGetObjectRequest(s3Client)(_ => ())(Some(content1))
+          val first = cacher.get()
+
+          expectSingleGetObjectRequest(s3Client)(_.ifNoneMatch() shouldBe eTag(content1))(None)
+          cacher.get() should be theSameInstanceAs first
+        }
+
+        it("should return new content when S3 returns new content") {
+          val s3Client = stub[S3Client]
+          val cacher = loader(s3Client)
+
+          expectSingleGetObjectRequest(s3Client)(_ => ())(Some(content1))
+          cacher.get()
+
+          expectSingleGetObjectRequest(s3Client)(_.ifNoneMatch() shouldBe eTag(content1))(Some(content2))
+          streamed(cacher.get()) shouldEqual content2
+        }
+      }
+    }
+  }
+}
@@ -1,11 +1,15 @@
 package com.nike.moirai.s3
 
+import java.io.File
+import java.nio.charset.StandardCharsets
+import java.nio.file.Files
+
 import org.scalamock.handlers.CallHandler1
 import org.scalamock.scalatest.MockFactory
 import org.scalatest.{FunSpec, Matchers}
 import software.amazon.awssdk.core.ResponseBytes
 import software.amazon.awssdk.services.s3.S3Client
-import software.amazon.awssdk.services.s3.model.{GetObjectRequest, GetObjectResponse, S3Exception}
+import software.amazon.awssdk.services.s3.model.{GetObjectRequest, GetObjectResponse, HeadObjectRequest, HeadObjectResponse, S3Exception}
 
 class CachingS3ResourceLoaderSpec extends FunSpec with Matchers with MockFactory {
 
@@ -27,6 +31,14 @@ class CachingS3ResourceLoaderSpec extends FunSpec with Matchers with MockFactory
     }
   }
 
+  def expectSingleHeadObjectRequest(s3Client: S3Client)(currentContent: String): CallHandler1[HeadObjectRequest, HeadObjectResponse] = {
+    (s3Client.headObject(_: HeadObjectRequest)).when(*).once().onCall { request: HeadObjectRequest =>
+      request.bucket() shouldEqual bucket
+      request.key() shouldEqual objectKey
+      HeadObjectResponse.builder().eTag(eTag(currentContent)).build()
+    }
+  }
+
   describe("S3ResourceLoader") {
     it("should read the file from the S3 client") {
       val s3Client = stub[S3Client]
@@ -105,5 +117,202 @@ class CachingS3ResourceLoaderSpec extends FunSpec with Matchers with MockFactory
         cacher.get() shouldEqual content1
       }
     }
+
+    describe("tracking changes") {
+      it("should report whether the last load changed the content") {
+        val s3Client = stub[S3Client]
+        val cacher = CachingS3ResourceLoader.withS3Client(s3Client, bucket, objectKey)
+
+        expectSingleGetObjectRequest(s3Client)(_ => ())(Some("content version 1"))
+        val first = cacher.get()
+        cacher.isChangedSinceLastLoad shouldBe true
+
+        expectSingleGetObjectRequest(s3Client)(_ => ())(None)
+        cacher.get() should be theSameInstanceAs first
+        cacher.isChangedSinceLastLoad shouldBe false
+
+        expectSingleGetObjectRequest(s3Client)(_ => ())(Some("content version 1"))
+        cacher.get() should be theSameInstanceAs first
+        cacher.isChangedSinceLastLoad shouldBe false
+
+        expectSingleGetObjectRequest(s3Client)(_ => ())(Some("content version 2"))
+        cacher.get() shouldEqual "content version 2"
+        cacher.isChangedSinceLastLoad shouldBe true
+      }
+    }
+
+    describe("with a HEAD probe") {
+      val content1 = "content version 1"
+
+      it("should read the file with a GET request the first time") {
+        val s3Client = stub[S3Client]
+        val cacher = CachingS3ResourceLoader.withHeadProbe(s3Client, bucket, objectKey)
+
+        expectSingleGetObjectRequest(s3Client)(_.ifNoneMatch() shouldBe null)(Some(content1))
+
+        cacher.get() shouldEqual content1
+        (s3Client.headObject(_: HeadObjectRequest)).verify(*).never()
+      }
+
+      it("should return cached content without a GET request when the ETag is unchanged") {
+        val s3Client = stub[S3Client]
+        val cacher = CachingS3ResourceLoader.withHeadProbe(s3Client, bucket, objectKey)
+
+        expectSingleGetObjectRequest(s3Client)(_ => ())(Some(content1))
+        val first = cacher.get()
+
+        expectSingleHeadObjectRequest(s3Client)(content1)
+        cacher.get() should be theSameInstanceAs first
+        cacher.isChangedSinceLastLoad shouldBe false
+
+        (s3Client.getObjectAsBytes(_: GetObjectRequest)).verify(*).once()
+      }
+
+      it("should read new content when the ETag has changed") {
+        val s3Client = stub[S3Client]
+        val cacher = CachingS3ResourceLoader.withHeadProbe(s3Client, bucket, objectKey)
+
+        expectSingleGetObjectRequest(s3Client)(_ => ())(Some(content1))
+        cacher.get()
+
+        val content2 = "content version 2"
+        expectSingleHeadObjectRequest(s3Client)(content2)
+        expectSingleGetObjectRequest(s3Client)(_.ifNoneMatch() shouldBe eTag(content1))(Some(content2))
+
+        cacher.get() shouldEqual content2
+        cacher.isChangedSinceLastLoad shouldBe true
+      }
+    }
+
+    describe("with a disk cache") {
+      val content1 = "content version 1"
+      val content2 = "content version 2"
+
+      def cacheFile(): File = new File(Files.createTempDirectory("moirai-s3-cache").toFile, "config.conf")
+
+      def read(file: File): String = new String(Files.readAllBytes(file.toPath), StandardCharsets.UTF_8)
+
+      it("should have no cached content before the file has been read") {
+        val s3Client = stub[S3Client]
+        val cacher = CachingS3ResourceLoader.withDiskCache(s3Client, bucket, objectKey, cacheFile())
+
+        cacher.getCachedContent.isPresent shouldBe false
+      }
+
+      it("should write the content and ETag read from S3 to the disk") {
+        val s3Client = stub[S3Client]
+        val file = cacheFile()
+        val cacher = CachingS3ResourceLoader.withDiskCache(s3Client, bucket, objectKey, file)
+
+        expectSingleGetObjectRequest(s3Client)(_.ifNoneMatch() shouldBe null)(Some(content1))
+
+        cacher.get() shouldEqual content1
+        cacher.getCachedContent.get() shouldEqual content1
+        read(file) shouldEqual content1
+        read(new File(file.getPath + ".etag")) shouldEqual eTag(content1)
+      }
+
+      it("should load the content from the disk when a new loader is created, and revalidate it with S3") {
+        val file = cacheFile()
+
+        val firstS3Client = stub[S3Client]
+        expectSingleGetObjectRequest(firstS3Client)(_ => ())(Some(content1))
+        CachingS3ResourceLoader.withDiskCache(firstS3Client, bucket, objectKey, file).get()
+
+        val s3Client = stub[S3Client]
+        val cacher = CachingS3ResourceLoader.withDiskCache(s3Client, bucket, objectKey, file)
+        cacher.getCachedContent.get() shouldEqual content1
+
+        expectSingleGetObjectRequest(s3Client)(_.ifNoneMatch() shouldBe eTag(content1))(None)
+        cacher.get() shouldEqual content1
+      }
+
+      it("should report the first load after reading the content from the disk as changed, and the next unchanged load as not") {
+        val file = cacheFile()
+
+        val firstS3Client = stub[S3Client]
+        expectSingleGetObjectRequest(firstS3Client)(_ => ())(Some(content1))
+        CachingS3ResourceLoader.withDiskCache(firstS3Client, bucket, objectKey, file).get()
+
+        val s3Client = stub[S3Client]
+        val cacher = CachingS3ResourceLoader.withDiskCache(s3Client, bucket, objectKey, file)
+
+        expectSingleGetObjectRequest(s3Client)(_.ifNoneMatch() shouldBe eTag(content1))(None)
+        val first = cacher.get()
+        cacher.isChangedSinceLastLoad shouldBe true
+
+        expectSingleGetObjectRequest(s3Client)(_.ifNoneMatch() shouldBe eTag(content1))(None)
+        cacher.get() should be theSameInstanceAs first
+        cacher.isChangedSinceLastLoad shouldBe false
+      }
+
+      it("should replace the content on the disk when S3 returns new content") {
+        val s3Client = stub[S3Client]
+        val file = cacheFile()
+        val cacher = CachingS3ResourceLoader.withDiskCache(s3Client, bucket, objectKey, file)
+
+        expectSingleGetObjectRequest(s3Client)(_ => ())(Some(content1))
+        cacher.get()
+
+        expectSingleGetObjectRequest(s3Client)(_.ifNoneMatch() shouldBe eTag(content1))(Some(content2))
+        cacher.get() shouldEqual content2
+
+        read(file) shouldEqual content2
+        read(new File(file.getPath + ".etag")) shouldEqual eTag(content2)
+        file.getParentFile.list().toSet shouldEqual Set("config.conf", "config.conf.etag")
+      }
+
+      it("should ignore content on the disk without an ETag") {
+        val s3Client = stub[S3Client]
+        val file = cacheFile()
+        Files.write(file.toPath, content1.getBytes(StandardCharsets.UTF_8))
+
+        val cacher = CachingS3ResourceLoader.withDiskCache(s3Client, bucket, objectKey, file)
+        cacher.getCachedContent.isPresent shouldBe false
+
+        expectSingleGetObjectRequest(s3Client)(_.ifNoneMatch() shouldBe null)(Some(content2))
+        cacher.get() shouldEqual content2
+      }
+
+      describe("and a HEAD probe") {
+        it("should revalidate the content from the disk with only a HEAD request when it is unchanged") {
+          val file = cacheFile()
+
+          val firstS3Client = stub[S3Client]
+          expectSingleGetObjectRequest(firstS3Client)(_ => ())(Some(content1))
+          CachingS3ResourceLoader.withHeadProbeAndDiskCache(firstS3Client, bucket, objectKey, file).get()
+
+          val s3Client = stub[S3Client]
+          val cacher = CachingS3ResourceLoader.withHeadProbeAndDiskCache(s3Client, bucket, objectKey, file)
+          cacher.getCachedContent.get() shouldEqual content1
+
+          expectSingleHeadObjectRequest(s3Client)(content1)
+          cacher.get() shouldEqual content1
+          cacher.isChangedSinceLastLoad shouldBe true
+
+          expectSingleHeadObjectRequest(s3Client)(content1)
+          cacher.get() shouldEqual content1
+          cacher.isChangedSinceLastLoad shouldBe false
+
+          (s3Client.getObjectAsBytes(_: GetObjectRequest)).verify(*).never()
+        }
+
+        it("should read new content and write it to the disk when the ETag has changed") {
+          val s3Client = stub[S3Client]
+          val file = cacheFile()
+          val cacher = CachingS3ResourceLoader.withHeadProbeAndDiskCache(s3Client, bucket, objectKey, file)
+
+          expectSingleGetObjectRequest(s3Client)(_ => ())(Some(content1))
+          cacher.get()
+
+          expectSingleHeadObjectRequest(s3Client)(content2)
+          expectSingleGetObjectRequest(s3Client)(_.ifNoneMatch() shouldBe eTag(content1))(Some(content2))
+          cacher.get() shouldEqual content2
+
+          read(file) shouldEqual content2
+          read(new File(file.getPath + ".etag")) shouldEqual eTag(content2)
+        }
+      }
+    }
   }
 }
@@ -0,0 +1,46 @@
+package com.nike.moirai.s3
+
+import java.util.concurrent.CompletableFuture
+
+import software.amazon.awssdk.core.ResponseBytes
+import software.amazon.awssdk.core.async.AsyncResponseTransformer
+import software.amazon.awssdk.services.s3.S3AsyncClient
+import software.amazon.awssdk.services.s3.model.{GetObjectRequest, GetObjectResponse, S3Exception}
+
+/**
+  * A stand-in for S3 that answers each getObject request with the next given response.
+  */
+class StubS3AsyncClient(responses: (GetObjectRequest => CompletableFuture[ResponseBytes[GetObjectResponse]])*) extends S3AsyncClient {
+  private var remaining = responses.toList
+  var requests: List[GetObjectRequest] = Nil
+
+  override def getObject[ReturnT](request: GetObjectRequest, transformer: AsyncResponseTransformer[GetObjectResponse, ReturnT]): CompletableFuture[ReturnT] = {
+    requests = requests :+ request
+    val response = remaining.head
+    remaining = remaining.tail
+    response(request).asInstanceOf[CompletableFuture[ReturnT]]
+  }
+
+  override def serviceName(): String = S3AsyncClient.SERVICE_NAME
+
+  override def close(): Unit = ()
+}
+
+object StubS3AsyncClient {
+  def eTag(content: String): String = {
+    content.hashCode.toString
+  }
+
+  def content(content: String): GetObjectRequest => CompletableFuture[ResponseBytes[GetObjectResponse]] = _ =>
+    CompletableFuture.completedFuture(
+      ResponseBytes.fromByteArray(GetObjectResponse.builder().eTag(eTag(content)).build(), content.getBytes("UTF-8")))
+
+  def failure(e: Throwable): GetObjectRequest => CompletableFuture[ResponseBytes[GetObjectResponse]] = _ => {
+    val future = new CompletableFuture[ResponseBytes[GetObjectResponse]]()
+    future.completeExceptionally(e)
+    future
+  }
+
+  val notModified: GetObjectRequest => CompletableFuture[ResponseBytes[GetObjectResponse]] =
+    failure(S3Exception.builder().statusCode(304).build())
+}
@@ -1,7 +1,9 @@
 package com.nike.moirai.typesafeconfig;
 
+import com.nike.moirai.config.CachedEnabledUsersConfigDecider;
 import com.nike.moirai.config.ConfigDecisionInput;
 import com.nike.moirai.config.EnabledUsersConfigDecider;
+import com.nike.moirai.config.ProportionBucketing;
 import com.nike.moirai.config.ProportionOfUsersConfigDecider;
 import com.nike.moirai.config.EnabledCustomDimensionConfigDecider;
 import com.nike.moirai.config.FeatureEnabledConfigDecider;
@@ -28,8 +30,21 @@ public class TypesafeConfigDecider {
     public static final Predicate<ConfigDecisionInput<Config>> ENABLED_USERS = new EnabledUsersConfigDecider<Config>() {
         @Override
         protected Collection<String> enabledUsers(Config config, String featureIdentifier) {
-            String path = String.format("moirai.%s.enabledUserIds", featureIdentifier);
-            return TypesafeConfigExtractor.extractCollection(config, path, Config::getStringList);
+            return enabledUserIds(config, featureIdentifier);
+        }
+    };
+
+    /**
+     * Reads the enabled list from the config at the same path as {@link #ENABLED_USERS}, but keeps the list for each feature as a
+     * hash set until a different config instance is provided. Use this instead of {@link #ENABLED_USERS} for large lists of users
+     * with a config that is reused across checks, such as one provided by a {@link com.nike.moirai.resource.reload.ResourceReloader}.
+     *
+     * @see CachedEnabledUsersConfigDecider
+     */
+    public static final Predicate<ConfigDecisionInput<Config>> CACHED_ENABLED_USERS = new CachedEnabledUsersConfigDecider<Config>() {
+        @Override
+        protected Collection<String> enabledUsers(Config config, String featureIdentifier) {
+            return enabledUserIds(config, featureIdentifier);
         }
     };
 
@@ -44,19 +59,16 @@ public class TypesafeConfigDecider {
      *
      * @see ProportionOfUsersConfigDecider
      */
-    public static final Predicate<ConfigDecisionInput<Config>> PROPORTION_OF_USERS = new ProportionOfUsersConfigDecider<Config>() {
-        @Override
-        protected Optional<Double> enabledProportion(Config config, String featureIdentifier) {
-            String path = String.format("moirai.%s.enabledProportion", featureIdentifier);
-            return TypesafeConfigExtractor.extractOptional(config, path, Config::getDouble);
-        }
+    public static final Predicate<ConfigDecisionInput<Config>> PROPORTION_OF_USERS = proportionOfUsers(ProportionBucketing.HASH_CODE);
 
-        @Override
-        protected Optional<String> featureGroup(Config config, String featureIdentifier) {
-            String path = String.format("moirai.%s.featureGroup", featureIdentifier);
-            return TypesafeConfigExtractor.extractOptional(config, path, Config::getString);
-        }
-    };
+    /**
+     * Reads the same settings as {@link #PROPORTION_OF_USERS}, but assigns users to buckets by {@link ProportionBucketing#MURMUR3}, which
+     * spreads users evenly over 10,000 buckets. Switching a partially enabled feature to this decider changes which users it is
+     * enabled for.
+     *
+     * @see ProportionBucketing#MURMUR3
+     */
+    public static final Predicate<ConfigDecisionInput<Config>> PROPORTION_OF_USERS_MURMUR3 = proportionOfUsers(ProportionBucketing.MURMUR3);
 
     /**
      * Reads the boolean value from the config at a path of "moirai.[featureIdentifier].featureEnabled". For instance, for a
@@ -118,7 +130,28 @@ public class TypesafeConfigDecider {
         return enabledCustomDimension(dimensionKey, configKey, Function.identity());
     }
 
+    private static Collection<String> enabledUserIds(Config config, String featureIdentifier) {
+        String path = String.format("moirai.%s.enabledUserIds", featureIdentifier);
+        return TypesafeConfigExtractor.extractCollection(config, path, Config::getStringList);
+    }
+
     private TypesafeConfigDecider() {
         // prevent instantiation
     }
+
+    private static ProportionOfUsersConfigDecider<Config> proportionOfUsers(ProportionBucketing bucketing) {
+        return new ProportionOfUsersConfigDecider<Config>(bucketing) {
+            @Override
+            protected Optional<Double> enabledProportion(Config config, String featureIdentifier) {
+                String path = String.format("moirai.%s.enabledProportion", featureIdentifier);
+                return TypesafeConfigExtractor.extractOptional(config, path, Config::getDouble);
+            }
+
+            @Override
+            protected Optional<String> featureGroup(Config config, String featureIdentifier) {
+                String path = String.format("moirai.%s.featureGroup", featureIdentifier);
+                return TypesafeConfigExtractor.extractOptional(config, path, Config::getString);
+            }
+        };
+    }
 }
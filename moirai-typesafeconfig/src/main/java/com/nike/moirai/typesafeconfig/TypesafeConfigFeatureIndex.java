@@ -0,0 +1,258 @@
+package com.nike.moirai.typesafeconfig;
+
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigException;
+import com.typesafe.config.ConfigUtil;
+import com.typesafe.config.ConfigValue;
+import com.typesafe.config.ConfigValueType;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * An immutable index of the feature settings found under the "moirai" path of a Typesafe {@link Config}.
+ * <p>
+ * The index is built once from a config, so that deciding on a feature is a hash lookup of the feature identifier followed by a
+ * lookup in that feature's settings, instead of formatting a path and walking the config tree for every check. It is intended to
+ * be built once per reload of the config, for instance by using {@link #FROM_STRING} when loading the resource for a
+ * {@link com.nike.moirai.resource.reload.ResourceReloader}, and used with the deciders in {@link TypesafeConfigFeatureIndexDecider}.
+ * <p>
+ * Feature identifiers are the dot-separated path to the feature within "moirai", as with {@link TypesafeConfigDecider}. For instance,
+ * the settings at "moirai.foo.service.myfeature" are indexed under the feature identifier "foo.service.myfeature".
+ */
+public class TypesafeConfigFeatureIndex {
+    /**
+     * Builds an index from an already parsed and resolved config.
+     */
+    public static final Function<Config, TypesafeConfigFeatureIndex> FROM_CONFIG = TypesafeConfigFeatureIndex::fromConfig;
+
+    /**
+     * Parses and resolves a config from a string, as {@link TypesafeConfigReader#FROM_STRING}, and builds an index from it.
+     */
+    public static final Function<String, TypesafeConfigFeatureIndex> FROM_STRING = TypesafeConfigReader.FROM_STRING.andThen(FROM_CONFIG);
+
+    /**
+     * Parses and resolves a config from UTF-8 bytes, as {@link TypesafeConfigReader#FROM_BYTE_BUFFER}, and builds an index from it.
+     */
+    public static final Function<ByteBuffer, TypesafeConfigFeatureIndex> FROM_BYTE_BUFFER = TypesafeConfigReader.FROM_BYTE_BUFFER.andThen(FROM_CONFIG);
+
+    private static final String ROOT_PATH = "moirai";
+    private static final String ENABLED_USER_IDS = "enabledUserIds";
+    private static final String ENABLED_PROPORTION = "enabledProportion";
+    private static final String FEATURE_GROUP = "featureGroup";
+    private static final String FEATURE_ENABLED = "featureEnabled";
+
+    /**
+     * The settings for a single feature. Missing settings are represented by empty collections and {@link Optional#empty()}.
+     */
+    @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+    public static class FeatureSettings {
+        private static final FeatureSettings EMPTY = new FeatureSettings(
+            Collections.emptyMap(),
+            Optional.empty(),
+            Optional.empty(),
+            Optional.empty());
+
+        private final Set<String> enabledUserIds;
+        private final Map<String, Set<String>> enabledValues;
+        private final Optional<Double> enabledProportion;
+        private final Optional<String> featureGroup;
+        private final Optional<Boolean> featureEnabled;
+
+        private FeatureSettings(
+            Map<String, Set<String>> enabledValues,
+            Optional<Double> enabledProportion,
+            Optional<String> featureGroup,
+            Optional<Boolean> featureEnabled) {
+
+            this.enabledUserIds = enabledValues.getOrDefault(ENABLED_USER_IDS, Collections.emptySet());
+            this.enabledValues = enabledValues;
+            this.enabledProportion = enabledProportion;
+            this.featureGroup = featureGroup;
+            this.featureEnabled = featureEnabled;
+        }
+
+        /**
+         * @return the users configured at "enabledUserIds", or an empty set
+         */
+        public Set<String> getEnabledUserIds() {
+            return enabledUserIds;
+        }
+
+        /**
+         * @param configKey the key of a list of strings within the feature, such as "enabledCountries"
+         * @return the values configured at the key, or an empty set
+         */
+        public Set<String> getEnabledValues(String configKey) {
+            return enabledValues.getOrDefault(configKey, Collections.emptySet());
+        }
+
+        /**
+         * @return the value configured at "enabledProportion"
+         */
+        public Optional<Double> getEnabledProportion() {
+            return enabledProportion;
+        }
+
+        /**
+         * @return the value configured at "featureGroup"
+         */
+        public Optional<String> getFeatureGroup() {
+            return featureGroup;
+        }
+
+        /**
+         * @return the value configured at "featureEnabled"
+         */
+        public Optional<Boolean> getFeatureEnabled() {
+            return featureEnabled;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o)
+                return true;
+            if (o == null || getClass() != o.getClass())
+                return false;
+            FeatureSettings that = (FeatureSettings) o;
+            return Objects.equals(enabledValues, that.enabledValues) &&
+                Objects.equals(enabledProportion, that.enabledProportion) &&
+                Objects.equals(featureGroup, that.featureGroup) &&
+                Objects.equals(featureEnabled, that.featureEnabled);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(enabledValues, enabledProportion, featureGroup, featureEnabled);
+        }
+
+        @Override
+        public String toString() {
+            return "FeatureSettings{" +
+                "enabledValues=" + enabledValues +
+                ", enabledProportion=" + enabledProportion +
+                ", featureGroup=" + featureGroup +
+                ", featureEnabled=" + featureEnabled +
+                '}';
+        }
+    }
+
+    @SuppressWarnings("OptionalUsedAsFieldOrParameterType")
+    private static class FeatureSettingsBuilder {
+        private final Map<String, Set<String>> enabledValues = new HashMap<>();
+        private Optional<Double> enabledProportion = Optional.empty();
+        private Optional<String> featureGroup = Optional.empty();
+        private Optional<Boolean> featureEnabled = Optional.empty();
+
+        FeatureSettings build() {
+            return new FeatureSettings(Collections.unmodifiableMap(enabledValues), enabledProportion, featureGroup, featureEnabled);
+        }
+    }
+
+    private final Map<String, FeatureSettings> features;
+
+    /**
+     * Builds an index from the settings found under the "moirai" path of the config. Lists that cannot be read as lists of strings
+     * are not indexed.
+     *
+     * @param config a resolved config
+     * @return the index of the feature settings in the config
+     * @throws ConfigException if "enabledProportion", "featureGroup" or "featureEnabled" have a value of the wrong type for a feature
+     */
+    public static TypesafeConfigFeatureIndex fromConfig(Config config) {
+        if (!config.hasPath(ROOT_PATH)) {
+            return new TypesafeConfigFeatureIndex(Collections.emptyMap());
+        }
+
+        Config root = config.getConfig(ROOT_PATH);
+        Map<String, FeatureSettingsBuilder> builders = new HashMap<>();
+
+        for (Map.Entry<String, ConfigValue> entry : root.entrySet()) {
+            String path = entry.getKey();
+            List<String> pathElements = ConfigUtil.splitPath(path);
+
+            if (pathElements.size() < 2) {
+                continue;
+            }
+
+            String featureIdentifier = String.join(".", pathElements.subList(0, pathElements.size() - 1));
+            String settingKey = pathElements.get(pathElements.size() - 1);
+            FeatureSettingsBuilder builder = builders.computeIfAbsent(featureIdentifier, k -> new FeatureSettingsBuilder());
+
+            switch (settingKey) {
+                case ENABLED_PROPORTION:
+                    builder.enabledProportion = Optional.of(root.getDouble(path));
+                    break;
+                case FEATURE_GROUP:
+                    builder.featureGroup = Optional.of(root.getString(path));
+                    break;
+                case FEATURE_ENABLED:
+                    builder.featureEnabled = Optional.of(root.getBoolean(path));
+                    break;
+                default:
+                    if (entry.getValue().valueType() == ConfigValueType.LIST) {
+                        try {
+                            builder.enabledValues.put(settingKey, Collections.unmodifiableSet(new HashSet<>(root.getStringList(path))));
+                        } catch (ConfigException.WrongType e) {
+                            // Not a list of strings, so it cannot be used for enabled values
+                        }
+                    }
+            }
+        }
+
+        Map<String, FeatureSettings> features = new HashMap<>(builders.size() * 2);
+        builders.forEach((featureIdentifier, builder) -> features.put(featureIdentifier, builder.build()));
+
+        return new TypesafeConfigFeatureIndex(Collections.unmodifiableMap(features));
+    }
+
+    private TypesafeConfigFeatureIndex(Map<String, FeatureSettings> features) {
+        this.features = features;
+    }
+
+    /**
+     * @param featureIdentifier the feature
+     * @return the settings for the feature; settings with no values if the feature is not configured
+     */
+    public FeatureSettings getFeatureSettings(String featureIdentifier) {
+        FeatureSettings featureSettings = features.get(featureIdentifier);
+        return featureSettings == null ? FeatureSettings.EMPTY : featureSettings;
+    }
+
+    /**
+     * @return the identifiers of all features with settings in the index
+     */
+    public Set<String> getFeatureIdentifiers() {
+        return features.keySet();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o)
+            return true;
+        if (o == null || getClass() != o.getClass())
+            return false;
+        TypesafeConfigFeatureIndex that = (TypesafeConfigFeatureIndex) o;
+        return Objects.equals(features, that.features);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(features);
+    }
+
+    @Override
+    public String toString() {
+        return "TypesafeConfigFeatureIndex{" +
+            "features=" + features +
+            '}';
+    }
+}
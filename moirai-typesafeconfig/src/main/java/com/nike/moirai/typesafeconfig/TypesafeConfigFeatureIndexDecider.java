@@ -0,0 +1,133 @@
+package com.nike.moirai.typesafeconfig;
+
+import com.nike.moirai.config.ConfigDecisionInput;
+import com.nike.moirai.config.EnabledCustomDimensionConfigDecider;
+import com.nike.moirai.config.EnabledUsersConfigDecider;
+import com.nike.moirai.config.FeatureEnabledConfigDecider;
+import com.nike.moirai.config.ProportionBucketing;
+import com.nike.moirai.config.ProportionOfUsersConfigDecider;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Predicate implementations that read from a {@link TypesafeConfigFeatureIndex}. These follow the same conventions as the
+ * deciders in {@link TypesafeConfigDecider}, but look the settings up in the precompiled index instead of the config tree.
+ */
+public class TypesafeConfigFeatureIndexDecider {
+
+    /**
+     * Reads the enabled users from the "enabledUserIds" of the feature in the index. If the feature has no enabled users, an empty
+     * set of users will be provided.
+     *
+     * @see EnabledUsersConfigDecider
+     * @see TypesafeConfigDecider#ENABLED_USERS
+     */
+    public static final Predicate<ConfigDecisionInput<TypesafeConfigFeatureIndex>> ENABLED_USERS = new EnabledUsersConfigDecider<TypesafeConfigFeatureIndex>() {
+        @Override
+        protected Collection<String> enabledUsers(TypesafeConfigFeatureIndex index, String featureIdentifier) {
+            return index.getFeatureSettings(featureIdentifier).getEnabledUserIds();
+        }
+    };
+
+    /**
+     * Reads the enabled proportion of users from the "enabledProportion" of the feature in the index, and the feature group from the
+     * "featureGroup" of the feature in the index.
+     *
+     * @see ProportionOfUsersConfigDecider
+     * @see TypesafeConfigDecider#PROPORTION_OF_USERS
+     */
+    public static final Predicate<ConfigDecisionInput<TypesafeConfigFeatureIndex>> PROPORTION_OF_USERS = proportionOfUsers(ProportionBucketing.HASH_CODE);
+
+    /**
+     * Reads the same settings as {@link #PROPORTION_OF_USERS}, but assigns users to buckets by {@link ProportionBucketing#MURMUR3}, which
+     * spreads users evenly over 10,000 buckets. Switching a partially enabled feature to this decider changes which users it is
+     * enabled for.
+     *
+     * @see ProportionBucketing#MURMUR3
+     */
+    public static final Predicate<ConfigDecisionInput<TypesafeConfigFeatureIndex>> PROPORTION_OF_USERS_MURMUR3 = proportionOfUsers(ProportionBucketing.MURMUR3);
+
+    /**
+     * Reads the boolean value from the "featureEnabled" of the feature in the index.
+     *
+     * @see FeatureEnabledConfigDecider
+     * @see TypesafeConfigDecider#FEATURE_ENABLED
+     */
+    public static final Predicate<ConfigDecisionInput<TypesafeConfigFeatureIndex>> FEATURE_ENABLED = new FeatureEnabledConfigDecider<TypesafeConfigFeatureIndex>() {
+        @Override
+        protected Optional<Boolean> featureEnabled(TypesafeConfigFeatureIndex index, String featureIdentifier) {
+            return index.getFeatureSettings(featureIdentifier).getFeatureEnabled();
+        }
+    };
+
+    /**
+     * Reads the enabled values from the list at configKey of the feature in the index, converting each value with the provided
+     * conversion for every check. Prefer {@link #enabledCustomStringDimension(String, String)} for string values, which needs no
+     * conversion.
+     *
+     * @param dimensionKey the key used for the dimension; this should match how you construct your FeatureCheckInput
+     * @param configKey the key used for the enabled values for the dimension
+     * @param conversion a function to convert the values in the config from strings to the data-type used in your custom dimension
+     * @param <V> the data-type of your custom dimension values
+     * @return a Predicate that will return true if the FeatureCheckInput has a value for your custom dimension that matches the values in the index
+     * @see TypesafeConfigDecider#enabledCustomDimension(String, String, Function)
+     */
+    public static <V> Predicate<ConfigDecisionInput<TypesafeConfigFeatureIndex>> enabledCustomDimension(String dimensionKey, String configKey, Function<String, V> conversion) {
+        return new EnabledCustomDimensionConfigDecider<TypesafeConfigFeatureIndex, V>() {
+            @Override
+            protected String dimensionKey() {
+                return dimensionKey;
+            }
+
+            @Override
+            protected Collection<V> enabledValues(TypesafeConfigFeatureIndex index, String featureIdentifier) {
+                return index.getFeatureSettings(featureIdentifier).getEnabledValues(configKey)
+                    .stream().map(conversion).collect(Collectors.toSet());
+            }
+        };
+    }
+
+    /**
+     * Reads the enabled values from the list at configKey of the feature in the index.
+     *
+     * @param dimensionKey the key used for the dimension; this should match how you construct your FeatureCheckInput
+     * @param configKey the key used for the configuration value to be read
+     * @return a Predicate that will return true if the FeatureCheckInput has a value for your custom dimension that matches the values in the index
+     * @see TypesafeConfigDecider#enabledCustomStringDimension(String, String)
+     */
+    public static Predicate<ConfigDecisionInput<TypesafeConfigFeatureIndex>> enabledCustomStringDimension(String dimensionKey, String configKey) {
+        return new EnabledCustomDimensionConfigDecider<TypesafeConfigFeatureIndex, String>() {
+            @Override
+            protected String dimensionKey() {
+                return dimensionKey;
+            }
+
+            @Override
+            protected Collection<String> enabledValues(TypesafeConfigFeatureIndex index, String featureIdentifier) {
+                return index.getFeatureSettings(featureIdentifier).getEnabledValues(configKey);
+            }
+        };
+    }
+
+    private TypesafeConfigFeatureIndexDecider() {
+        // prevent instantiation
+    }
+
+    private static ProportionOfUsersConfigDecider<TypesafeConfigFeatureIndex> proportionOfUsers(ProportionBucketing bucketing) {
+        return new ProportionOfUsersConfigDecider<TypesafeConfigFeatureIndex>(bucketing) {
+            @Override
+            protected Optional<Double> enabledProportion(TypesafeConfigFeatureIndex index, String featureIdentifier) {
+                return index.getFeatureSettings(featureIdentifier).getEnabledProportion();
+            }
+
+            @Override
+            protected Optional<String> featureGroup(TypesafeConfigFeatureIndex index, String featureIdentifier) {
+                return index.getFeatureSettings(featureIdentifier).getFeatureGroup();
+            }
+        };
+    }
+}
@@ -1,8 +1,12 @@
 package com.nike.moirai.typesafeconfig;
 
+import com.nike.moirai.resource.ByteBufferInputStream;
 import com.typesafe.config.Config;
 import com.typesafe.config.ConfigFactory;
 
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.function.Function;
 
 public class TypesafeConfigReader {
@@ -11,6 +15,15 @@ public class TypesafeConfigReader {
         return config.resolve();
     };
 
+    /**
+     * Parses and resolves a config from UTF-8 bytes, such as the buffers supplied by
+     * {@link com.nike.moirai.resource.FileResourceLoaders#forFileBytes(java.io.File)}, without first decoding them into a String.
+     */
+    public static final Function<ByteBuffer, Config> FROM_BYTE_BUFFER = buffer -> {
+        Config config = ConfigFactory.parseReader(new InputStreamReader(new ByteBufferInputStream(buffer), StandardCharsets.UTF_8));
+        return config.resolve();
+    };
+
     private TypesafeConfigReader() {
         // Prevent instantiation
     }
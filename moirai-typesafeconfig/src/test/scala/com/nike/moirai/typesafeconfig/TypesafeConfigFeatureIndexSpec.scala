@@ -0,0 +1,115 @@
+package com.nike.moirai.typesafeconfig
+
+import com.nike.moirai.resource.FileResourceLoaders
+import com.nike.moirai.{ConfigFeatureFlagChecker, FeatureCheckInput, Suppliers}
+import com.typesafe.config.ConfigFactory
+import org.scalatest.{FunSpec, Matchers}
+
+import scala.collection.JavaConverters._
+
+//noinspection TypeAnnotation
+class TypesafeConfigFeatureIndexSpec extends FunSpec with Matchers {
+  val resourceLoader = FileResourceLoaders.forClasspathResource("moirai.conf")
+
+  describe("A TypesafeConfigFeatureIndex") {
+    val index = TypesafeConfigFeatureIndex.FROM_STRING.apply(resourceLoader.get())
+
+    it("should index the enabled users of a feature, including resolved references") {
+      index.getFeatureSettings("foo").getEnabledUserIds.asScala should contain theSameElementsAs Seq("42", "0", "7", "8", "9")
+    }
+
+    it("should index the proportion, group and enabled flag of a feature") {
+      index.getFeatureSettings("bar").getEnabledProportion.get() shouldBe 1.0
+      index.getFeatureSettings("bar").getFeatureGroup.isPresent shouldBe false
+      index.getFeatureSettings("coffee").getFeatureEnabled.get() shouldBe true
+      index.getFeatureSettings("tea").getFeatureEnabled.get() shouldBe false
+    }
+
+    it("should index other lists of strings as enabled values") {
+      index.getFeatureSettings("qux").getEnabledValues("enabledCountries").asScala should contain theSameElementsAs Seq("Peru", "Luxembourg")
+    }
+
+    it("should not index lists that are not lists of strings") {
+      index.getFeatureSettings("objects").getEnabledValues("enabledThings").isEmpty shouldBe true
+    }
+
+    it("should index features with dotted identifiers") {
+      index.getFeatureSettings("dotted.feature").getFeatureEnabled.get() shouldBe true
+      index.getFeatureSettings("dotted.feature").getEnabledUserIds.asScala should contain only "nested"
+    }
+
+    it("should provide empty settings for a feature not specified in the config") {
+      val settings = index.getFeatureSettings("quux")
+      settings.getEnabledUserIds.isEmpty shouldBe true
+      settings.getEnabledProportion.isPresent shouldBe false
+      settings.getFeatureGroup.isPresent shouldBe false
+      settings.getFeatureEnabled.isPresent shouldBe false
+    }
+
+    it("should be empty for a config without a moirai section") {
+      TypesafeConfigFeatureIndex.fromConfig(ConfigFactory.parseString("foo = 1")).getFeatureIdentifiers.isEmpty shouldBe true
+    }
+
+    it("should be equal to an index built from the same config") {
+      TypesafeConfigFeatureIndex.FROM_STRING.apply(resourceLoader.get()) shouldEqual index
+    }
+  }
+
+  describe("A combined enabled-user and proportion-of-users index decider") {
+    val featureFlagChecker = ConfigFeatureFlagChecker.forConfigSupplier[TypesafeConfigFeatureIndex](
+      Suppliers.supplierAndThen(resourceLoader, TypesafeConfigFeatureIndex.FROM_STRING),
+      TypesafeConfigFeatureIndexDecider.ENABLED_USERS.or(TypesafeConfigFeatureIndexDecider.PROPORTION_OF_USERS)
+    )
+
+    it("should be enabled for enabled users") {
+      featureFlagChecker.isFeatureEnabled("foo", FeatureCheckInput.forUser("7")) shouldBe true
+      featureFlagChecker.isFeatureEnabled("foo", FeatureCheckInput.forUser("42")) shouldBe true
+      featureFlagChecker.isFeatureEnabled("dotted.feature", FeatureCheckInput.forUser("nested")) shouldBe true
+    }
+
+    it("should not be enabled for non-enabled users when the proportion is 0.0") {
+      featureFlagChecker.isFeatureEnabled("foo", FeatureCheckInput.forUser("6")) shouldBe false
+    }
+
+    it("should be enabled for all users when the proportion is 1.0") {
+      featureFlagChecker.isFeatureEnabled("bar", FeatureCheckInput.forUser("Zaphod Beeblebrox")) shouldBe true
+    }
+
+    it("should not be enabled for a feature not specified in the config") {
+      featureFlagChecker.isFeatureEnabled("quux", FeatureCheckInput.forUser("42")) shouldBe false
+    }
+  }
+
+  describe("A featureEnabled index decider") {
+    val featureFlagChecker = ConfigFeatureFlagChecker.forConfigSupplier[TypesafeConfigFeatureIndex](
+      Suppliers.supplierAndThen(resourceLoader, TypesafeConfigFeatureIndex.FROM_STRING),
+      TypesafeConfigFeatureIndexDecider.FEATURE_ENABLED
+    )
+
+    it("should follow the configuration") {
+      featureFlagChecker.isFeatureEnabled("coffee") shouldBe true
+      featureFlagChecker.isFeatureEnabled("tea") shouldBe false
+      featureFlagChecker.isFeatureEnabled("water") shouldBe false
+    }
+  }
+
+  describe("A custom dimension index decider") {
+    val featureFlagChecker = ConfigFeatureFlagChecker.forConfigSupplier[TypesafeConfigFeatureIndex](
+      Suppliers.supplierAndThen(resourceLoader, TypesafeConfigFeatureIndex.FROM_STRING),
+      TypesafeConfigFeatureIndexDecider.enabledCustomStringDimension("country", "enabledCountries")
+        .or(TypesafeConfigFeatureIndexDecider.enabledCustomDimension("countryLength", "enabledCountries", _.length))
+    )
+
+    it("should be enabled for a user in an enabled country") {
+      featureFlagChecker.isFeatureEnabled("qux", FeatureCheckInput.forUser("bob").withAdditionalDimension("country", "Peru")) shouldBe true
+    }
+
+    it("should be enabled for a converted value") {
+      featureFlagChecker.isFeatureEnabled("qux", FeatureCheckInput.forUser("bob").withAdditionalDimension("countryLength", 10)) shouldBe true
+    }
+
+    it("should be disabled for a user not in an enabled country") {
+      featureFlagChecker.isFeatureEnabled("qux", FeatureCheckInput.forUser("bob").withAdditionalDimension("country", "Belgium")) shouldBe false
+    }
+  }
+}
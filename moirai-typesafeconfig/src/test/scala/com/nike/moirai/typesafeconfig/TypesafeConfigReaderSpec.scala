@@ -0,0 +1,30 @@
+package com.nike.moirai.typesafeconfig
+
+import java.nio.ByteBuffer
+import java.nio.charset.StandardCharsets
+
+import com.nike.moirai.resource.FileResourceLoaders
+import org.scalatest.{FunSpec, Matchers}
+
+class TypesafeConfigReaderSpec extends FunSpec with Matchers {
+  val conf: String = FileResourceLoaders.forClasspathResource("moirai.conf").get()
+
+  describe("FROM_BYTE_BUFFER") {
+    it("should read the same config as FROM_STRING") {
+      val buffer = ByteBuffer.wrap(conf.getBytes(StandardCharsets.UTF_8))
+      TypesafeConfigReader.FROM_BYTE_BUFFER.apply(buffer) shouldBe TypesafeConfigReader.FROM_STRING.apply(conf)
+    }
+
+    it("should decode the bytes as UTF-8") {
+      val buffer = ByteBuffer.wrap("moirai.feature.enabledUserIds = [\"été\"]".getBytes(StandardCharsets.UTF_8))
+      TypesafeConfigReader.FROM_BYTE_BUFFER.apply(buffer).getStringList("moirai.feature.enabledUserIds").get(0) shouldBe "été"
+    }
+  }
+
+  describe("TypesafeConfigFeatureIndex.FROM_BYTE_BUFFER") {
+    it("should build the same index as FROM_STRING") {
+      val buffer = ByteBuffer.wrap(conf.getBytes(StandardCharsets.UTF_8))
+      TypesafeConfigFeatureIndex.FROM_BYTE_BUFFER.apply(buffer) shouldBe TypesafeConfigFeatureIndex.FROM_STRING.apply(conf)
+    }
+  }
+}
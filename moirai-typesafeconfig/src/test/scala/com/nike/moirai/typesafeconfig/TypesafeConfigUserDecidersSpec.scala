@@ -72,6 +72,27 @@ class TypesafeConfigUserDecidersSpec extends FunSpec with Matchers with Generato
     }
   }
 
+  describe("A cached enabled-user config decider") {
+    val config = TypesafeConfigReader.FROM_STRING.apply(FileResourceLoaders.forClasspathResource("moirai.conf").get())
+
+    val featureFlagChecker = ConfigFeatureFlagChecker.forConfigSupplier[Config](
+      () => config,
+      TypesafeConfigDecider.CACHED_ENABLED_USERS
+    )
+
+    it("should be enabled for enabled users") {
+      featureFlagChecker.isFeatureEnabled("foo", FeatureCheckInput.forUser("7")) shouldBe true
+      featureFlagChecker.isFeatureEnabled("foo", FeatureCheckInput.forUser("42")) shouldBe true
+      featureFlagChecker.isFeatureEnabled("baz", FeatureCheckInput.forUser("susan")) shouldBe true
+    }
+
+    it("should not be enabled for non-enabled users") {
+      featureFlagChecker.isFeatureEnabled("foo", FeatureCheckInput.forUser("6")) shouldBe false
+      featureFlagChecker.isFeatureEnabled("baz", FeatureCheckInput.forUser("jack")) shouldBe false
+      featureFlagChecker.isFeatureEnabled("quux", FeatureCheckInput.forUser("42")) shouldBe false
+    }
+  }
+
   describe("A proportionOfUsers config decider with featureGroup") {
     val resourceLoader = FileResourceLoaders.forClasspathResource("moirai-feature-group.conf")
 